@@ -0,0 +1,70 @@
+package com.unisystem.university.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.DTOS.CourseResponse;
+import com.unisystem.university.enrollment.DTOS.EnrollmentResponse;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+// jackson serialization of the payloads the catalog and roster endpoints return
+// the mapper is built the way spring boot builds the application one (java.time as iso strings)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogSerializationBenchmark {
+    @Param({ "50", "500" })
+    int size;
+
+    private ObjectMapper objectMapper;
+    private List<CourseResponse> catalog;
+    private List<EnrollmentResponse> roster;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Random random = Fixtures.random();
+        List<Course> courses = Fixtures.catalog(random, size);
+        catalog = new ArrayList<>(size);
+        courses.forEach(course -> catalog.add(new CourseResponse(course)));
+
+        roster = new ArrayList<>();
+        for (User student : Fixtures.users(random, size / 10 + 1, Role.STUDENT, 10_000)) {
+            Fixtures.history(random, student, courses, Math.min(10, size))
+                .forEach(enrollment -> roster.add(new EnrollmentResponse(enrollment)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeCatalog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+
+    @Benchmark
+    public byte[] serializeRoster() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(roster);
+    }
+}
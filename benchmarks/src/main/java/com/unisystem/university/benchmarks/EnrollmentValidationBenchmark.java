@@ -0,0 +1,114 @@
+package com.unisystem.university.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.enrollment.Enrollment;
+import com.unisystem.university.enrollment.EnrollmentService;
+import com.unisystem.university.lectureTime.ScheduleIndex;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+// EnrollmentService.isValidEnroll against preloaded histories, the same check every registration runs
+// the accepted and the rejected path are measured apart because the rejected one builds the error message
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnrollmentValidationBenchmark {
+    private static final int STUDENTS = 200;
+
+    // courses already taken by the student
+    @Param({ "8", "40" })
+    int historySize;
+
+    @Param({ "400" })
+    int catalogSize;
+
+    private EnrollmentService enrollmentService;
+    private Attempt[] accepted;
+    private Attempt[] rejected;
+    private int next;
+
+    private record Attempt(Course course, List<Enrollment> history) {}
+
+    @Setup
+    public void setup() {
+        // isValidEnroll only reads the schedule index, the repositories are never touched
+        enrollmentService = new EnrollmentService(null, null, new ScheduleIndex(null), null, null, null);
+
+        Random random = Fixtures.random();
+        List<Course> catalog = Fixtures.catalog(random, catalogSize);
+        List<Attempt> acceptedAttempts = new ArrayList<>();
+        List<Attempt> rejectedAttempts = new ArrayList<>();
+        for (User student : Fixtures.users(random, STUDENTS, Role.STUDENT, 10_000)) {
+            List<Enrollment> history = Fixtures.history(random, student, catalog, historySize);
+            Set<Course> taken = new HashSet<>();
+            history.forEach(enrollment -> taken.add(enrollment.getCourse()));
+
+            // one course the student may register for and one they can't, when the catalog has them
+            Attempt ok = null;
+            Attempt refused = null;
+            for (int i = 0; i < catalog.size() && (ok == null || refused == null); i++) {
+                Course course = catalog.get(random.nextInt(catalog.size()));
+                if (taken.contains(course)) {
+                    continue;
+                }
+                try {
+                    enrollmentService.isValidEnroll(course, history);
+                    ok = ok == null ? new Attempt(course, history) : ok;
+                } catch (RuntimeException e) {
+                    refused = refused == null ? new Attempt(course, history) : refused;
+                }
+            }
+            if (ok != null) {
+                acceptedAttempts.add(ok);
+            }
+            if (refused != null) {
+                rejectedAttempts.add(refused);
+            }
+        }
+        if (acceptedAttempts.isEmpty() || rejectedAttempts.isEmpty()) {
+            throw new IllegalStateException("fixtures produced no accepted or no rejected enrollment");
+        }
+        accepted = acceptedAttempts.toArray(Attempt[]::new);
+        rejected = rejectedAttempts.toArray(Attempt[]::new);
+    }
+
+    @Benchmark
+    public Course validEnrollment() {
+        Attempt attempt = accepted[next++ % accepted.length];
+        enrollmentService.isValidEnroll(attempt.course(), attempt.history());
+        return attempt.course();
+    }
+
+    @Benchmark
+    public String rejectedEnrollment() {
+        Attempt attempt = rejected[next++ % rejected.length];
+        try {
+            enrollmentService.isValidEnroll(attempt.course(), attempt.history());
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+}
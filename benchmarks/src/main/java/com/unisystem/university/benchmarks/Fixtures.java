@@ -0,0 +1,124 @@
+package com.unisystem.university.benchmarks;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.enrollment.Enrollment;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.Grade;
+import com.unisystem.university.lectureTime.Day;
+import com.unisystem.university.lectureTime.LectureTime;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+// synthetic catalog and enrollment histories for the benchmarks
+// everything is drawn from a seeded Random so every run measures the same data
+public final class Fixtures {
+    public static final long SEED = 20240901L;
+
+    // two terms a year, a course runs in exactly one of them
+    private static final LocalDate[][] TERMS = {
+        { LocalDate.of(2024, 9, 1), LocalDate.of(2024, 12, 20) },
+        { LocalDate.of(2025, 2, 1), LocalDate.of(2025, 5, 30) },
+    };
+    // lectures are on the weekdays the university teaches, between 8:00 and 17:30
+    private static final Day[] TEACHING_DAYS = { Day.Saturday, Day.Sunday, Day.Monday, Day.Tuesday, Day.Wednesday, Day.Thursday };
+    private static final Grade[] GRADES = Grade.values();
+
+    private Fixtures() {
+    }
+
+    public static Random random() {
+        return new Random(SEED);
+    }
+
+    public static List<User> users(Random random, int count, Role role, long firstId) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            String name = role.name().toLowerCase() + "-" + id;
+            users.add(new User(id, name, name + "@uni.example", "{noop}password-" + random.nextInt(1_000_000), role));
+        }
+        return users;
+    }
+
+    // the catalog is split into four years and a course only requires courses of the year before it,
+    // so the prerequisite graph is acyclic and about as deep as a real curriculum
+    public static List<Course> catalog(Random random, int count) {
+        List<User> lecturers = users(random, Math.max(1, count / 4), Role.LECTURER, 1);
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate[] term = TERMS[random.nextInt(TERMS.length)];
+            Course course = new Course("Course " + (100 + i), term[0], term[1],
+                term[0].minusWeeks(4), term[0].plusWeeks(1), lecturers.get(random.nextInt(lecturers.size())), true);
+            course.setId((long) i + 1);
+            course.setCreatedAt(term[0].minusMonths(3));
+
+            List<LectureTime> lectures = new Bag<>();
+            int lectureCount = 2 + random.nextInt(2);
+            for (int l = 0; l < lectureCount; l++) {
+                Day day = TEACHING_DAYS[random.nextInt(TEACHING_DAYS.length)];
+                LocalTime time = LocalTime.of(8 + random.nextInt(10), random.nextBoolean() ? 0 : 30);
+                LectureTime lecture = new LectureTime(course, day, time);
+                lecture.setId((long) i * 4 + l + 1);
+                lectures.add(lecture);
+            }
+            course.setLecturesTime(lectures);
+
+            course.setPrerequisites(new HashSet<>());
+            int year = i * 4 / count;
+            if (year > 0) {
+                int from = (year - 1) * count / 4;
+                int to = year * count / 4;
+                int prereqCount = random.nextInt(3);
+                for (int p = 0; p < prereqCount; p++) {
+                    course.addPrerequisite(courses.get(from + random.nextInt(to - from)));
+                }
+            }
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    // a student history of the given size, the last few courses are still in progress
+    public static List<Enrollment> history(Random random, User student, List<Course> catalog, int size) {
+        List<Course> shuffled = new ArrayList<>(catalog);
+        Collections.shuffle(shuffled, random);
+        int inProgress = Math.min(5, size);
+
+        List<Enrollment> enrollments = new ArrayList<>(size);
+        for (int i = 0; i < size && i < shuffled.size(); i++) {
+            boolean current = i >= size - inProgress;
+            int semester = current ? size / 5 + 1 : i / 5 + 1;
+            Enrollment enrollment = new Enrollment(student, shuffled.get(i), semester,
+                current ? CourseStatus.InProgress : CourseStatus.Completed);
+            enrollment.setId((long) student.getId() * 1000 + i);
+            enrollment.setEnrollmentDate(shuffled.get(i).getStartDate().minusWeeks(2));
+            if (!current) {
+                enrollment.setGrade(GRADES[random.nextInt(GRADES.length)]);
+            }
+            enrollments.add(enrollment);
+        }
+        return enrollments;
+    }
+
+    // lecture times point back at their course and both are lombok @Data, so a plain list would make
+    // Course.hashCode recurse forever, hibernate's PersistentBag has identity equality and so does this
+    private static class Bag<E> extends ArrayList<E> {
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.unisystem.university.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.DTOS.CourseResponse;
+import com.unisystem.university.enrollment.Enrollment;
+import com.unisystem.university.enrollment.DTOS.EnrollmentResponse;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+// entity to response mapping of a whole catalog page and a whole course roster
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+    @Param({ "50", "500" })
+    int size;
+
+    private List<Course> courses;
+    private List<Enrollment> enrollments;
+
+    @Setup
+    public void setup() {
+        Random random = Fixtures.random();
+        courses = Fixtures.catalog(random, size);
+
+        enrollments = new ArrayList<>(size);
+        for (User student : Fixtures.users(random, size / 10 + 1, Role.STUDENT, 10_000)) {
+            enrollments.addAll(Fixtures.history(random, student, courses, Math.min(10, size)));
+        }
+    }
+
+    @Benchmark
+    public List<CourseResponse> courseResponses() {
+        List<CourseResponse> responses = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            responses.add(new CourseResponse(course));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<EnrollmentResponse> enrollmentResponses() {
+        List<EnrollmentResponse> responses = new ArrayList<>(enrollments.size());
+        for (Enrollment enrollment : enrollments) {
+            responses.add(new EnrollmentResponse(enrollment));
+        }
+        return responses;
+    }
+}
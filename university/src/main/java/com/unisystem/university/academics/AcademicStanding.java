@@ -0,0 +1,42 @@
+package com.unisystem.university.academics;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// standing of a student in one semester, written by AcademicStandingJob
+@Entity
+@Table(name = "academic_standing", 
+    uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "semester"}),
+    indexes = @Index(name = "idx_academic_standing_semester", columnList = "semester, standing"))
+@Data
+@NoArgsConstructor
+public class AcademicStanding {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(nullable = false)
+    private Integer semester;
+
+    @Enumerated(EnumType.STRING)
+    private Standing standing;
+
+    private Double termGpa;
+    private Double cumulativeGpa;
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,150 @@
+package com.unisystem.university.academics;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+// computes the academic standing of every graded student of a semester from the in-memory GPA aggregates
+// students are split into chunks that are evaluated and written in parallel, one transaction per chunk
+@Component
+public class AcademicStandingJob {
+    private static final Logger log = LoggerFactory.getLogger(AcademicStandingJob.class);
+    private static final int CHUNK_SIZE = 500;
+
+    private final GpaService gpaService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "academic-standing-runner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final double probationBelow;
+    private final double deansListFrom;
+    private final int deansListMinCourses;
+
+    public AcademicStandingJob(GpaService gpaService, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            @Value("${academics.standing.probation-below:2.0}") double probationBelow,
+            @Value("${academics.standing.deans-list-from:3.5}") double deansListFrom,
+            @Value("${academics.standing.deans-list-min-courses:3}") int deansListMinCourses,
+            @Value("${academics.standing.workers:0}") int workers) {
+        this.gpaService = gpaService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.probationBelow = probationBelow;
+        this.deansListFrom = deansListFrom;
+        this.deansListMinCourses = deansListMinCourses;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workers > 0 ? workers : Runtime.getRuntime().availableProcessors(), task -> {
+            Thread thread = new Thread(task, "academic-standing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    @Scheduled(cron = "${academics.standing.cron:0 30 2 * * *}")
+    public void runNightly() {
+        for (Integer semester : gpaService.semesters()) {
+            run(semester);
+        }
+    }
+
+    // runs in the background, queued behind a run that is still in progress
+    public void submit(Integer semester) {
+        runner.execute(() -> {
+            try {
+                run(semester);
+            } catch (RuntimeException e) {
+                log.error("requested academic standing run of semester {} failed", semester, e);
+            }
+        });
+    }
+
+    // returns the number of students whose standing was written
+    public synchronized int run(Integer semester) {
+        Map<Long, StudentGpa> students = gpaService.snapshot();
+        List<Long> studentIds = new ArrayList<>();
+        students.forEach((studentId, gpa) -> {
+            if (gpa.term(semester).courses() > 0) {
+                studentIds.add(studentId);
+            }
+        });
+        studentIds.sort(null);
+
+        // whole seconds so the stale rows cleanup below compares the exact stored value
+        LocalDateTime computedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < studentIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = studentIds.subList(from, Math.min(from + CHUNK_SIZE, studentIds.size()));
+            chunks.add(CompletableFuture.runAsync(() -> writeChunk(semester, chunk, students, computedAt), workers));
+        }
+        try {
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            log.error("academic standing of semester {} failed", semester, e.getCause());
+            throw e;
+        }
+
+        // students that no longer have a graded course in this semester
+        jdbcTemplate.update("delete from academic_standing where semester = ? and computed_at < ?", 
+            semester, Timestamp.valueOf(computedAt));
+        log.info("academic standing of semester {} computed for {} students", semester, studentIds.size());
+        return studentIds.size();
+    }
+
+    public Standing standingOf(GpaAggregate term, GpaAggregate cumulative) {
+        if (cumulative.gpa() != null && cumulative.gpa() < probationBelow) {
+            return Standing.PROBATION;
+        }
+        if (term.courses() >= deansListMinCourses && term.gpa() >= deansListFrom) {
+            return Standing.DEANS_LIST;
+        }
+        return Standing.GOOD;
+    }
+
+    private void writeChunk(Integer semester, List<Long> studentIds, Map<Long, StudentGpa> students, 
+            LocalDateTime computedAt) {
+        List<Object[]> keys = new ArrayList<>(studentIds.size());
+        List<Object[]> rows = new ArrayList<>(studentIds.size());
+        for (Long studentId : studentIds) {
+            StudentGpa gpa = students.get(studentId);
+            GpaAggregate term = gpa.term(semester);
+            GpaAggregate cumulative = gpa.through(semester);
+            keys.add(new Object[] {studentId, semester});
+            rows.add(new Object[] {studentId, semester, standingOf(term, cumulative).name(), term.gpa(), 
+                cumulative.gpa(), Timestamp.valueOf(computedAt)});
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.batchUpdate("delete from academic_standing where student_id = ? and semester = ?", keys);
+            jdbcTemplate.batchUpdate("insert into academic_standing (student_id, semester, standing, term_gpa, " + 
+                "cumulative_gpa, computed_at) values (?, ?, ?, ?, ?, ?)", rows);
+        });
+    }
+}
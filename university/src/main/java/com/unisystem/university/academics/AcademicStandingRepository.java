@@ -0,0 +1,12 @@
+package com.unisystem.university.academics;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AcademicStandingRepository extends JpaRepository<AcademicStanding, Long> {
+    List<AcademicStanding> findBySemesterOrderByStudentId(Integer semester);
+    List<AcademicStanding> findBySemesterAndStandingOrderByStudentId(Integer semester, Standing standing);
+}
@@ -0,0 +1,72 @@
+package com.unisystem.university.academics;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.unisystem.university.academics.DTOS.AcademicStandingResponse;
+import com.unisystem.university.academics.DTOS.GpaResponse;
+import com.unisystem.university.academics.DTOS.TranscriptResponse;
+import com.unisystem.university.users.User;
+import com.unisystem.university.users.UserService;
+
+@RestController
+@RequestMapping("/api/academics")
+public class AcademicsController {
+    private final GpaService gpaService;
+    private final AcademicStandingJob academicStandingJob;
+    private final AcademicStandingRepository academicStandingRepo;
+    private final UserService userService;
+    private final TranscriptService transcriptService;
+
+    public AcademicsController(GpaService gpaService, AcademicStandingJob academicStandingJob,
+            AcademicStandingRepository academicStandingRepo, UserService userService, 
+            TranscriptService transcriptService) {
+        this.gpaService = gpaService;
+        this.academicStandingJob = academicStandingJob;
+        this.academicStandingRepo = academicStandingRepo;
+        this.userService = userService;
+        this.transcriptService = transcriptService;
+    }
+
+    @GetMapping("/students/{studentId}/gpa")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or (hasRole('STUDENT') and #studentId == authentication.principal.id)")
+    public ResponseEntity<GpaResponse> getStudentGpa(@PathVariable Long studentId) {
+        User student = userService.getStudent(studentId);
+
+        return ResponseEntity.ok(new GpaResponse(student.getId(), gpaService.getStudentGpa(student.getId())));
+    }
+
+    @GetMapping("/students/{studentId}/transcript")
+    public ResponseEntity<TranscriptResponse> getTranscript(@PathVariable Long studentId) {
+        return ResponseEntity.ok(transcriptService.getTranscript(studentId));
+    }
+
+    @GetMapping("/standing/{semester}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
+    public ResponseEntity<List<AcademicStandingResponse>> getStanding(@PathVariable Integer semester,
+            @RequestParam(required = false) Standing standing) {
+        List<AcademicStanding> standings = standing == null 
+            ? academicStandingRepo.findBySemesterOrderByStudentId(semester)
+            : academicStandingRepo.findBySemesterAndStandingOrderByStudentId(semester, standing);
+        return ResponseEntity.ok(standings.stream().map(AcademicStandingResponse::new).collect(Collectors.toList()));
+    }
+
+    // recomputes a semester in the background instead of waiting for the nightly run
+    // the new standings replace the old ones under GET /standing/{semester} once the run is done
+    @PostMapping("/standing/{semester}/run")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<Void> runStanding(@PathVariable Integer semester) {
+        academicStandingJob.submit(semester);
+        return ResponseEntity.accepted().location(URI.create("/api/academics/standing/" + semester)).build();
+    }
+}
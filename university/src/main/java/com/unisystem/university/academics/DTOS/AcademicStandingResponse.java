@@ -0,0 +1,27 @@
+package com.unisystem.university.academics.DTOS;
+
+import java.time.LocalDateTime;
+
+import com.unisystem.university.academics.AcademicStanding;
+import com.unisystem.university.academics.Standing;
+
+import lombok.Data;
+
+@Data
+public class AcademicStandingResponse {
+    private Long studentId;
+    private Integer semester;
+    private Standing standing;
+    private Double termGpa;
+    private Double cumulativeGpa;
+    private LocalDateTime computedAt;
+
+    public AcademicStandingResponse(AcademicStanding academicStanding){
+        this.studentId = academicStanding.getStudentId();
+        this.semester = academicStanding.getSemester();
+        this.standing = academicStanding.getStanding();
+        this.termGpa = academicStanding.getTermGpa();
+        this.cumulativeGpa = academicStanding.getCumulativeGpa();
+        this.computedAt = academicStanding.getComputedAt();
+    }
+}
@@ -0,0 +1,24 @@
+package com.unisystem.university.academics.DTOS;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.unisystem.university.academics.StudentGpa;
+
+import lombok.Data;
+
+@Data
+public class GpaResponse {
+    private Long studentId;
+    private Double cumulativeGpa;
+    private Integer gradedCourses;
+    private List<TermGpaResponse> terms = new ArrayList<>();
+
+    public GpaResponse(Long studentId, StudentGpa gpa){
+        this.studentId = studentId;
+        this.cumulativeGpa = gpa.total().gpa();
+        this.gradedCourses = gpa.total().courses();
+        gpa.terms().forEach((semester, term) -> terms.add(
+            new TermGpaResponse(semester, term.gpa(), term.courses(), gpa.through(semester).gpa())));
+    }
+}
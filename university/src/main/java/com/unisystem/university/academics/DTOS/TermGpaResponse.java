@@ -0,0 +1,13 @@
+package com.unisystem.university.academics.DTOS;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TermGpaResponse {
+    private Integer semester;
+    private Double gpa;
+    private Integer gradedCourses;
+    private Double cumulativeGpa; // up to and including this semester
+}
@@ -0,0 +1,17 @@
+package com.unisystem.university.academics.DTOS;
+
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.Grade;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TranscriptCourse {
+    private Long enrollmentId;
+    private Long courseId;
+    private String courseName;
+    private Grade grade;
+    private CourseStatus status;
+}
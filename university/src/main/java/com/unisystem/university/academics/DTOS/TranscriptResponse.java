@@ -0,0 +1,16 @@
+package com.unisystem.university.academics.DTOS;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// cached and shared between requests, built once and never modified
+@Data
+@AllArgsConstructor
+public class TranscriptResponse {
+    private Long studentId;
+    private Double cumulativeGpa;
+    private Integer gradedCourses;
+    private List<TranscriptSemester> semesters;
+}
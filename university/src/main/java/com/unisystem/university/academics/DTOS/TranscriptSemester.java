@@ -0,0 +1,15 @@
+package com.unisystem.university.academics.DTOS;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TranscriptSemester {
+    private Integer semester; // null for enrollments without a semester
+    private Double termGpa;
+    private Double cumulativeGpa; // up to and including this semester
+    private List<TranscriptCourse> courses;
+}
@@ -0,0 +1,22 @@
+package com.unisystem.university.academics;
+
+import com.unisystem.university.enrollment.Types.Grade;
+
+// running sum of quality points over the graded courses
+// points are kept in hundredths so adding and removing grades never drifts
+public record GpaAggregate(long points, int courses) {
+    public static final GpaAggregate EMPTY = new GpaAggregate(0, 0);
+
+    public GpaAggregate plus(Grade grade, int count) {
+        return new GpaAggregate(points + Math.round(grade.getPoints() * 100) * count, courses + count);
+    }
+
+    public GpaAggregate plus(GpaAggregate other) {
+        return new GpaAggregate(points + other.points, courses + other.courses);
+    }
+
+    // rounded to two decimals, null when no course is graded yet
+    public Double gpa() {
+        return courses == 0 ? null : Math.round((double) points / courses) / 100.0;
+    }
+}
@@ -0,0 +1,121 @@
+package com.unisystem.university.academics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.unisystem.university.enrollment.EnrollmentChangedEvent;
+import com.unisystem.university.enrollment.EnrollmentChangedEvent.Snapshot;
+import com.unisystem.university.enrollment.EnrollmentRepository;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.Grade;
+
+// per student GPA aggregates kept in memory
+// loaded from a grouped query, then every grade change moves the aggregates by the
+// difference between the old and the new enrollment, there is no full recompute per change
+// the nightly reconcile only picks up rows changed outside EnrollmentService
+// changes that arrive while it loads are buffered and replayed on the new aggregates before they replace the old ones
+@Service
+public class GpaService {
+    private final EnrollmentRepository enrollmentRepo;
+    private volatile Map<Long, StudentGpa> students;
+
+    private final Object changes = new Object();
+    private List<EnrollmentChangedEvent> pending; // not null while a reconcile is loading, guarded by changes
+
+    public GpaService(EnrollmentRepository enrollmentRepo) {
+        this.enrollmentRepo = enrollmentRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${academics.gpa.reconcile-cron:0 0 2 * * *}")
+    public synchronized void reconcile() {
+        synchronized (changes) {
+            pending = new ArrayList<>();
+        }
+        Map<Long, StudentGpa> fresh = new ConcurrentHashMap<>();
+        try {
+            for (Object[] row : enrollmentRepo.countGradedGroupedByStudentSemesterAndGrade(CourseStatus.Dropped)) {
+                fresh.compute((Long) row[0], (id, gpa) -> 
+                    (gpa == null ? StudentGpa.EMPTY : gpa).plus((Integer) row[1], (Grade) row[2], ((Long) row[3]).intValue()));
+            }
+            synchronized (changes) {
+                pending.forEach(event -> apply(fresh, event));
+                students = fresh;
+            }
+        } finally {
+            synchronized (changes) {
+                pending = null;
+            }
+        }
+    }
+
+    private Map<Long, StudentGpa> students() {
+        Map<Long, StudentGpa> current = students;
+        if (current == null) {
+            synchronized (this) {
+                if (students == null) {
+                    reconcile();
+                }
+                current = students;
+            }
+        }
+        return current;
+    }
+
+    // a dropped enrollment keeps its grade in the table but doesn't count
+    private static boolean counts(Snapshot enroll) {
+        return enroll != null && enroll.grade() != null && enroll.status() != CourseStatus.Dropped;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        students();
+        synchronized (changes) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(students, event);
+        }
+    }
+
+    private static void apply(Map<Long, StudentGpa> students, EnrollmentChangedEvent event) {
+        if (counts(event.before())) {
+            apply(students, event.before(), -1);
+        }
+        if (counts(event.after())) {
+            apply(students, event.after(), 1);
+        }
+    }
+
+    private static void apply(Map<Long, StudentGpa> students, Snapshot enroll, int count) {
+        students.compute(enroll.studentId(), (id, gpa) -> {
+            StudentGpa updated = (gpa == null ? StudentGpa.EMPTY : gpa).plus(enroll.semester(), enroll.grade(), count);
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    public StudentGpa getStudentGpa(Long studentId) {
+        return students().getOrDefault(studentId, StudentGpa.EMPTY);
+    }
+
+    // consistent per student, the map itself may move while it's being read
+    public Map<Long, StudentGpa> snapshot() {
+        return Map.copyOf(students());
+    }
+
+    public Set<Integer> semesters() {
+        Set<Integer> semesters = new TreeSet<>();
+        snapshot().values().forEach(gpa -> semesters.addAll(gpa.terms().keySet()));
+        return semesters;
+    }
+}
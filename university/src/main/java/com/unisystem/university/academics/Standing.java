@@ -0,0 +1,7 @@
+package com.unisystem.university.academics;
+
+public enum Standing {
+    PROBATION,
+    GOOD,
+    DEANS_LIST
+}
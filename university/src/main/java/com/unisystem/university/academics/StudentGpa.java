@@ -0,0 +1,60 @@
+package com.unisystem.university.academics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.unisystem.university.enrollment.Types.Grade;
+
+// immutable GPA state of one student: the cumulative aggregate and one aggregate per semester
+// a change builds a new instance so readers never see a half applied update
+public final class StudentGpa {
+    public static final StudentGpa EMPTY = new StudentGpa(GpaAggregate.EMPTY, new TreeMap<>());
+
+    private final GpaAggregate total;
+    private final TreeMap<Integer, GpaAggregate> terms;
+
+    private StudentGpa(GpaAggregate total, TreeMap<Integer, GpaAggregate> terms) {
+        this.total = total;
+        this.terms = terms;
+    }
+
+    // count is negative when grades are taken back, enrollments without a semester only count in the total
+    public StudentGpa plus(Integer semester, Grade grade, int count) {
+        TreeMap<Integer, GpaAggregate> newTerms = new TreeMap<>(terms);
+        if (semester != null) {
+            GpaAggregate term = newTerms.getOrDefault(semester, GpaAggregate.EMPTY).plus(grade, count);
+            if (term.courses() == 0) {
+                newTerms.remove(semester);
+            } else {
+                newTerms.put(semester, term);
+            }
+        }
+        return new StudentGpa(total.plus(grade, count), newTerms);
+    }
+
+    public GpaAggregate total() {
+        return total;
+    }
+
+    public GpaAggregate term(Integer semester) {
+        return terms.getOrDefault(semester, GpaAggregate.EMPTY);
+    }
+
+    public Map<Integer, GpaAggregate> terms() {
+        return Collections.unmodifiableMap(terms);
+    }
+
+    // cumulative aggregate over the semesters up to and including this one
+    public GpaAggregate through(Integer semester) {
+        GpaAggregate result = GpaAggregate.EMPTY;
+        for (GpaAggregate term : terms.headMap(semester, true).values()) {
+            result = result.plus(term);
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return total.courses() == 0;
+    }
+}
@@ -0,0 +1,111 @@
+package com.unisystem.university.academics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.unisystem.university.academics.DTOS.TranscriptCourse;
+import com.unisystem.university.academics.DTOS.TranscriptResponse;
+import com.unisystem.university.academics.DTOS.TranscriptSemester;
+import com.unisystem.university.enrollment.EnrollmentChangedEvent;
+import com.unisystem.university.enrollment.EnrollmentRepository;
+import com.unisystem.university.enrollment.DTOS.StudentEnrollmentsResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.users.UserService;
+
+// per student transcript documents kept in an LRU cache
+// an entry is dropped as soon as one of the student's enrollments changes, a load that raced
+// with such a change is not cached because the student's version moved while it ran
+@Service
+public class TranscriptService {
+    private final EnrollmentRepository enrollmentRepo;
+    private final UserService userService;
+    private final Map<Long, TranscriptResponse> cache;
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public TranscriptService(EnrollmentRepository enrollmentRepo, UserService userService,
+            @Value("${academics.transcript.cache-size:10000}") int cacheSize) {
+        this.enrollmentRepo = enrollmentRepo;
+        this.userService = userService;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TranscriptResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    // students only read their own transcript
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or (hasRole('STUDENT') and #studentId == authentication.principal.id)")
+    public TranscriptResponse getTranscript(Long studentId) {
+        synchronized (cache) {
+            TranscriptResponse cached = cache.get(studentId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        AtomicLong version = versions.computeIfAbsent(studentId, id -> new AtomicLong());
+        long loadedVersion = version.get();
+
+        userService.getStudent(studentId);
+        TranscriptResponse transcript = build(studentId, enrollmentRepo.findTranscriptRows(studentId));
+        synchronized (cache) {
+            if (version.get() == loadedVersion) {
+                cache.put(studentId, transcript);
+            }
+        }
+        return transcript;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        if (event.before() != null) {
+            evict(event.before().studentId());
+        }
+        if (event.after() != null) {
+            evict(event.after().studentId());
+        }
+    }
+
+    public void evict(Long studentId) {
+        versions.computeIfAbsent(studentId, id -> new AtomicLong()).incrementAndGet();
+        synchronized (cache) {
+            cache.remove(studentId);
+        }
+    }
+
+    // same counting rule as GpaService: graded and not dropped
+    private TranscriptResponse build(Long studentId, List<StudentEnrollmentsResponse> rows) {
+        Map<Integer, List<StudentEnrollmentsResponse>> bySemester = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (StudentEnrollmentsResponse row : rows) {
+            bySemester.computeIfAbsent(row.getSemester(), semester -> new ArrayList<>()).add(row);
+        }
+
+        List<TranscriptSemester> semesters = new ArrayList<>();
+        GpaAggregate cumulative = GpaAggregate.EMPTY;
+        for (Map.Entry<Integer, List<StudentEnrollmentsResponse>> entry : bySemester.entrySet()) {
+            GpaAggregate term = GpaAggregate.EMPTY;
+            List<TranscriptCourse> courses = new ArrayList<>();
+            for (StudentEnrollmentsResponse row : entry.getValue()) {
+                if (row.getGrade() != null && row.getStatus() != CourseStatus.Dropped) {
+                    term = term.plus(row.getGrade(), 1);
+                }
+                courses.add(new TranscriptCourse(row.getId(), row.getCourseId(), row.getCourseName(), 
+                    row.getGrade(), row.getStatus()));
+            }
+            cumulative = cumulative.plus(term);
+            semesters.add(new TranscriptSemester(entry.getKey(), term.gpa(), cumulative.gpa(), List.copyOf(courses)));
+        }
+        return new TranscriptResponse(studentId, cumulative.gpa(), cumulative.courses(), List.copyOf(semesters));
+    }
+}
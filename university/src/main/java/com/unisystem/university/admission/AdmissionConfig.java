@@ -0,0 +1,49 @@
+package com.unisystem.university.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Configuration
+public class AdmissionConfig implements WebMvcConfigurer {
+    // the endpoints that create enrollments, they are the ones everybody hits when registration opens
+    private static final String[] ADMITTED_PATHS = {
+        "/api/enrollments",
+        "/api/enrollments/async",
+        "/api/enrollments/after-due",
+        "/api/enrollments/batch",
+        "/api/enrollments/waitlist",
+    };
+
+    private final ObjectMapper objectMapper;
+    private final double admissionsPerSecond;
+    private final int burst;
+    private final long ticketTimeoutMs;
+    private final int maxWaiting;
+
+    public AdmissionConfig(ObjectMapper objectMapper,
+            @Value("${admission.rate-per-second:50}") double admissionsPerSecond,
+            @Value("${admission.burst:100}") int burst,
+            @Value("${admission.ticket-timeout-ms:30000}") long ticketTimeoutMs,
+            @Value("${admission.max-waiting:100000}") int maxWaiting) {
+        this.objectMapper = objectMapper;
+        this.admissionsPerSecond = admissionsPerSecond;
+        this.burst = burst;
+        this.ticketTimeoutMs = ticketTimeoutMs;
+        this.maxWaiting = maxWaiting;
+    }
+
+    @Bean
+    public WaitingRoom waitingRoom() {
+        return new WaitingRoom(admissionsPerSecond, burst, ticketTimeoutMs, maxWaiting, System::nanoTime);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(waitingRoom(), objectMapper)).addPathPatterns(ADMITTED_PATHS);
+    }
+}
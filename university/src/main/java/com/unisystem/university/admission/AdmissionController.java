@@ -0,0 +1,31 @@
+package com.unisystem.university.admission;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.unisystem.university.admission.DTOS.TicketResponse;
+
+import jakarta.persistence.EntityNotFoundException;
+
+@RestController
+@RequestMapping("/api/admission")
+public class AdmissionController {
+    private final WaitingRoom waitingRoom;
+
+    public AdmissionController(WaitingRoom waitingRoom) {
+        this.waitingRoom = waitingRoom;
+    }
+
+    // place in line and estimated wait of a ticket, once admitted resend the request with the ticket
+    @GetMapping("/tickets/{ticket}")
+    public ResponseEntity<TicketResponse> getTicket(@PathVariable String ticket) {
+        try {
+            return ResponseEntity.ok(waitingRoom.status(ticket));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.unisystem.university.admission;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unisystem.university.admission.DTOS.TicketResponse;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// lets registration requests through the waiting room before they reach the controller
+// a request that has to wait is answered right away with 429, its ticket and a Retry-After,
+// the client resends the same request with the X-Queue-Ticket header until it is admitted
+public class AdmissionInterceptor implements HandlerInterceptor {
+    public static final String TICKET_HEADER = "X-Queue-Ticket";
+
+    private final WaitingRoom waitingRoom;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionInterceptor(WaitingRoom waitingRoom, ObjectMapper objectMapper) {
+        this.waitingRoom = waitingRoom;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+
+        TicketResponse ticket = waitingRoom.admit(request.getHeader(TICKET_HEADER));
+        if (ticket.getAdmitted()) {
+            return true;
+        }
+
+        if (ticket.getTicket() == null) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "30");
+            return false;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(TICKET_HEADER, ticket.getTicket());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ticket.getEstimatedWaitSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ticket);
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package com.unisystem.university.admission.DTOS;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TicketResponse {
+    private String ticket; // null when the request was let in straight away
+    private Boolean admitted; // an admitted ticket has to be redeemed by resending the request with it
+    private Long position; // 1 is the next ticket to be admitted
+    private Long estimatedWaitSeconds;
+}
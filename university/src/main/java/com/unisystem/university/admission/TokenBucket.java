@@ -0,0 +1,32 @@
+package com.unisystem.university.admission;
+
+// classic token bucket, refilled lazily from the elapsed time
+// not thread safe, the waiting room only uses it under its own lock
+class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(int capacity, double tokensPerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    boolean tryAcquire(long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    // gives back the token of an admission that was never used
+    void release() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+}
@@ -0,0 +1,157 @@
+package com.unisystem.university.admission;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.unisystem.university.admission.DTOS.TicketResponse;
+
+import jakarta.persistence.EntityNotFoundException;
+
+// admission control in front of the registration endpoints
+// requests are let in at the rate of a token bucket sized to what the database can take,
+// when there is no token (or others are already waiting) the caller gets a ticket in a FIFO line instead
+// and resends the request with it until its turn comes
+// tickets that aren't polled for a while are dropped, so abandoned clients don't hold tokens
+public class WaitingRoom {
+    private final TokenBucket bucket;
+    private final double admissionsPerSecond;
+    private final long ticketTimeoutNanos;
+    private final int maxWaiting;
+    private final LongSupplier clock;
+
+    // waiting tickets in arrival order, only the head ever leaves the line
+    private final LinkedHashMap<String, Ticket> waiting = new LinkedHashMap<>();
+    // tickets whose turn came, each one holds a token until it is redeemed or times out
+    private final Map<String, Ticket> admitted = new HashMap<>();
+    private long issued = 0;
+
+    private static class Ticket {
+        private final String id;
+        private final String owner;
+        private final long number;
+        private long lastSeen;
+
+        private Ticket(String id, String owner, long number, long now) {
+            this.id = id;
+            this.owner = owner;
+            this.number = number;
+            this.lastSeen = now;
+        }
+    }
+
+    public WaitingRoom(double admissionsPerSecond, int burst, long ticketTimeoutMs, int maxWaiting, LongSupplier clock) {
+        if (admissionsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("admission rate and burst must be positive");
+        }
+        this.bucket = new TokenBucket(burst, admissionsPerSecond, clock.getAsLong());
+        this.admissionsPerSecond = admissionsPerSecond;
+        this.ticketTimeoutNanos = ticketTimeoutMs * 1_000_000;
+        this.maxWaiting = maxWaiting;
+        this.clock = clock;
+    }
+
+    // returns admitted=true when the request may run now, otherwise the caller's place in line
+    // a null ticket with admitted=false means the line is full
+    public synchronized TicketResponse admit(String ticketId) {
+        long now = clock.getAsLong();
+        advance(now);
+        String owner = caller();
+
+        Ticket ticket = find(ticketId, owner);
+        if (ticket != null) {
+            if (admitted.remove(ticket.id) != null) {
+                return new TicketResponse(ticket.id, true, 0L, 0L);
+            }
+            ticket.lastSeen = now;
+            return place(ticket);
+        }
+
+        // nobody is waiting, so there is no line to jump
+        if (waiting.isEmpty() && bucket.tryAcquire(now)) {
+            return new TicketResponse(null, true, 0L, 0L);
+        }
+        if (waiting.size() >= maxWaiting) {
+            return new TicketResponse(null, false, null, null);
+        }
+        ticket = new Ticket(UUID.randomUUID().toString(), owner, ++issued, now);
+        waiting.put(ticket.id, ticket);
+        return place(ticket);
+    }
+
+    // the place of a ticket without resending the request, polling also keeps the ticket alive
+    public synchronized TicketResponse status(String ticketId) {
+        long now = clock.getAsLong();
+        advance(now);
+
+        Ticket ticket = find(ticketId, caller());
+        if (ticket == null) {
+            throw new EntityNotFoundException("ticket " + ticketId + " not found or expired");
+        }
+        ticket.lastSeen = now;
+        if (admitted.containsKey(ticket.id)) {
+            return new TicketResponse(ticket.id, true, 0L, 0L);
+        }
+        return place(ticket);
+    }
+
+    public synchronized int waitingCount() {
+        return waiting.size();
+    }
+
+    // hands the tokens refilled since the last call to the tickets at the head of the line
+    private void advance(long now) {
+        Iterator<Ticket> expired = admitted.values().iterator();
+        while (expired.hasNext()) {
+            if (now - expired.next().lastSeen > ticketTimeoutNanos) {
+                expired.remove();
+                bucket.release();
+            }
+        }
+
+        Iterator<Ticket> line = waiting.values().iterator();
+        while (line.hasNext()) {
+            Ticket head = line.next();
+            if (now - head.lastSeen > ticketTimeoutNanos) {
+                line.remove();
+                continue;
+            }
+            if (!bucket.tryAcquire(now)) {
+                return;
+            }
+            line.remove();
+            head.lastSeen = now;
+            admitted.put(head.id, head);
+        }
+    }
+
+    // a ticket only counts for the user it was issued to
+    private Ticket find(String ticketId, String owner) {
+        if (ticketId == null) {
+            return null;
+        }
+        Ticket ticket = waiting.get(ticketId);
+        if (ticket == null) {
+            ticket = admitted.get(ticketId);
+        }
+        return ticket != null && Objects.equals(ticket.owner, owner) ? ticket : null;
+    }
+
+    private TicketResponse place(Ticket ticket) {
+        long position = ticket.number - waiting.values().iterator().next().number + 1;
+        long estimatedWait = (long) Math.ceil(position / admissionsPerSecond);
+        return new TicketResponse(ticket.id, false, position, estimatedWait);
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+}
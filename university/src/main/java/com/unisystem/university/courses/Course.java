@@ -12,22 +12,44 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @Entity
+// filtered keyset pages of the course list, see CourseRepositoryCustomImpl
+// "open for registration on a day" scans registration ends from that day on, past terms are never read
+@Table(indexes = {
+    @Index(name = "idx_course_active_registration", 
+        columnList = "is_active, course_end_registiration_date, course_start_registiration_date, id"),
+    @Index(name = "idx_course_active_start", columnList = "is_active, start_date, id"),
+    @Index(name = "idx_course_lecturer_start", columnList = "lecturer_id, start_date, id"),
+    @Index(name = "idx_course_name", columnList = "name, id")
+})
+// what a CourseResponse reads besides the prerequisites, those are a second collection so they come from
+// their own query (CourseRepository.fetchPrerequisites) instead of multiplying the lecture time rows
+@NamedEntityGraph(name = Course.RESPONSE_GRAPH, attributeNodes = {
+    @NamedAttributeNode("lecturer"),
+    @NamedAttributeNode("lecturesTime")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString
 public class Course {
+    public static final String RESPONSE_GRAPH = "Course.response";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -47,6 +69,7 @@ public class Course {
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<LectureTime> lecturesTime;
 
     // Courses required to take *this* course
@@ -57,6 +80,8 @@ public class Course {
         inverseJoinColumns = @JoinColumn(name = "prerequisite_id") // FK for the REQUIRED course
     )
     @ToString.Exclude
+    // hashing a course must not load its prerequisites (and theirs), a Set<Course> hashes every course it holds
+    @EqualsAndHashCode.Exclude
     private Set<Course> prerequisites;
 
     // to be added later because this causes circular dependency problem
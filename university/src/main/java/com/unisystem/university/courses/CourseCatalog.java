@@ -0,0 +1,230 @@
+package com.unisystem.university.courses;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unisystem.university.courses.DTOS.CourseResponse;
+
+// read model behind the public catalog endpoints: one CourseResponse per course, built once and kept in memory
+// writes replace the whole snapshot (copy on write) so readers never lock and never see a half applied change
+// a change to one course only rebuilds that course and the courses listing it as a prerequisite,
+// a periodic full rebuild catches what no event reports (a lecturer renamed through the users api)
+// every course carries the version it was last changed at and the catalog the version of its latest change,
+// the controller turns them into ETags so an unchanged catalog is answered with a 304
+@Component
+public class CourseCatalog {
+    private final CourseRepository courseRepo;
+    private final PrerequisiteGraph prerequisiteGraph;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Snapshot snapshot;
+    // seeded with the clock so versions handed out before a restart are never reused after it
+    private long lastVersion = System.currentTimeMillis();
+
+    private record Entry(CourseResponse response, Set<Long> prerequisiteIds, long version) {
+        boolean sameAs(Entry other) {
+            return other != null && response.equals(other.response) && prerequisiteIds.equals(other.prerequisiteIds);
+        }
+    }
+
+    // courses ordered by id, the same order findAll returns them in
+    private record Snapshot(Map<Long, Entry> entries, List<CourseResponse> all, long version) {
+        static Snapshot of(Map<Long, Entry> entries, long version) {
+            List<CourseResponse> all = entries.values().stream().map(Entry::response).collect(Collectors.toList());
+            return new Snapshot(Collections.unmodifiableMap(entries), Collections.unmodifiableList(all), version);
+        }
+    }
+
+    public CourseCatalog(CourseRepository courseRepo, PrerequisiteGraph prerequisiteGraph, 
+            TransactionTemplate transactionTemplate) {
+        this.courseRepo = courseRepo;
+        this.prerequisiteGraph = prerequisiteGraph;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    private long nextVersion() {
+        lastVersion = Math.max(lastVersion + 1, System.currentTimeMillis());
+        return lastVersion;
+    }
+
+    private static Entry entryOf(Course course) {
+        CourseResponse response = new CourseResponse(course);
+        // the lists are shared by every reader so they must not be changed after this point
+        response.setPrerequisiteCoursesNames(List.copyOf(response.getPrerequisiteCoursesNames()));
+        response.setLecturesTime(List.copyOf(response.getLecturesTime()));
+        Set<Long> prerequisiteIds = course.getPrerequisites() == null ? Set.of() 
+            : course.getPrerequisites().stream().map(Course::getId).collect(Collectors.toUnmodifiableSet());
+        return new Entry(response, prerequisiteIds, 0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${courses.catalog.reconcile-ms:600000}",
+        initialDelayString = "${courses.catalog.reconcile-ms:600000}")
+    public synchronized void rebuild() {
+        // one read-only transaction so the lazy associations load while the responses are built
+        Map<Long, Entry> loaded = transactionTemplate.execute(tx -> {
+            Map<Long, Entry> entries = new TreeMap<>();
+            List<Course> courses = courseRepo.findAll();
+            if (!courses.isEmpty()) {
+                courseRepo.fetchAllPrerequisites();
+            }
+            for (Course course : courses) {
+                entries.put(course.getId(), entryOf(course));
+            }
+            return entries;
+        });
+
+        // courses that didn't change keep their version so a reconcile doesn't invalidate every client cache
+        Snapshot previous = snapshot;
+        Set<Long> changedIds = new HashSet<>();
+        for (Entry entry : loaded.values()) {
+            Long id = entry.response().getId();
+            if (!entry.sameAs(previous == null ? null : previous.entries().get(id))) {
+                changedIds.add(id);
+            }
+        }
+        // like refresh, a course whose prerequisite changed gets a new version too (its prerequisite list did)
+        Map<Long, Entry> entries = new LinkedHashMap<>();
+        boolean changed = previous == null || previous.entries().size() != loaded.size();
+        for (Entry entry : loaded.values()) {
+            Long id = entry.response().getId();
+            if (changedIds.contains(id) || !Collections.disjoint(entry.prerequisiteIds(), changedIds)) {
+                entries.put(id, new Entry(entry.response(), entry.prerequisiteIds(), nextVersion()));
+                changed = true;
+            } else {
+                entries.put(id, previous.entries().get(id));
+            }
+        }
+        snapshot = Snapshot.of(entries, changed ? nextVersion() : previous.version());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        refresh(event.courseId());
+    }
+
+    // reloads the course and every course that lists it as a prerequisite (they show its name)
+    public synchronized void refresh(Long courseId) {
+        Snapshot current = snapshot();
+        Set<Long> affected = new HashSet<>();
+        affected.add(courseId);
+        current.entries().forEach((id, entry) -> {
+            if (entry.prerequisiteIds().contains(courseId)) {
+                affected.add(id);
+            }
+        });
+
+        Map<Long, Entry> reloaded = transactionTemplate.execute(tx -> {
+            Map<Long, Entry> loaded = new LinkedHashMap<>();
+            List<Course> courses = courseRepo.findDetailsByIdIn(affected);
+            if (!courses.isEmpty()) {
+                courseRepo.fetchPrerequisites(courses);
+            }
+            for (Course course : courses) {
+                loaded.put(course.getId(), entryOf(course));
+            }
+            return loaded;
+        });
+
+        long version = nextVersion();
+        Map<Long, Entry> entries = new TreeMap<>(current.entries());
+        for (Long id : affected) {
+            Entry entry = reloaded.get(id);
+            if (entry == null) {
+                entries.remove(id);
+            } else {
+                entries.put(id, new Entry(entry.response(), entry.prerequisiteIds(), version));
+            }
+        }
+        snapshot = Snapshot.of(new LinkedHashMap<>(entries), version);
+    }
+
+    // bumped by any change to any course
+    public long getVersion() {
+        return snapshot().version();
+    }
+
+    // bumped when the course, its prerequisites (names included) or its lecture times change
+    public Optional<Long> getVersion(Long courseId) {
+        Entry entry = snapshot().entries().get(courseId);
+        return entry == null ? Optional.empty() : Optional.of(entry.version());
+    }
+
+    // walks every course with the version it was last changed at and returns the catalog version,
+    // all from the same snapshot so a caller can tell exactly what changed since its last walk
+    public long forEachCourse(ObjLongConsumer<CourseResponse> action) {
+        Snapshot current = snapshot();
+        current.entries().values().forEach(entry -> action.accept(entry.response(), entry.version()));
+        return current.version();
+    }
+
+    public int size() {
+        return snapshot().entries().size();
+    }
+
+    public List<CourseResponse> getAll() {
+        return snapshot().all();
+    }
+
+    public Optional<CourseResponse> get(Long courseId) {
+        Entry entry = snapshot().entries().get(courseId);
+        return entry == null ? Optional.empty() : Optional.of(entry.response());
+    }
+
+    // empty when the course is unknown
+    public Optional<Set<CourseResponse>> getPrerequisites(Long courseId) {
+        Snapshot current = snapshot();
+        Entry entry = current.entries().get(courseId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(responsesOf(current, entry.prerequisiteIds()));
+    }
+
+    public Optional<Set<CourseResponse>> getPrerequisiteClosure(Long courseId) {
+        Snapshot current = snapshot();
+        if (!current.entries().containsKey(courseId)) {
+            return Optional.empty();
+        }
+        return Optional.of(responsesOf(current, prerequisiteGraph.closureOf(courseId)));
+    }
+
+    private static Set<CourseResponse> responsesOf(Snapshot snapshot, Set<Long> courseIds) {
+        List<CourseResponse> responses = new ArrayList<>(courseIds.size());
+        for (Long id : courseIds) {
+            Entry entry = snapshot.entries().get(id);
+            if (entry != null) {
+                responses.add(entry.response());
+            }
+        }
+        return new HashSet<>(responses);
+    }
+}
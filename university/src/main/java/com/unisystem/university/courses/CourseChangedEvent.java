@@ -0,0 +1,6 @@
+package com.unisystem.university.courses;
+
+// published after a course, its prerequisites or its lecture times were written
+// listeners reload whatever they keep about the course, a course that can't be found anymore was deleted
+public record CourseChangedEvent(Long courseId) {
+}
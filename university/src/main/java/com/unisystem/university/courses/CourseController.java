@@ -1,39 +1,101 @@
 package com.unisystem.university.courses;
 
 import com.unisystem.university.courses.DTOS.CourseCreationReq;
+import com.unisystem.university.courses.DTOS.CourseFilter;
+import com.unisystem.university.courses.DTOS.CoursePage;
 import com.unisystem.university.courses.DTOS.CourseResponse;
+import com.unisystem.university.courses.DTOS.CourseSearchResponse;
+import com.unisystem.university.courses.DTOS.CourseSeatsResponse;
 import com.unisystem.university.courses.DTOS.CourseUpdateReq;
+import com.unisystem.university.courses.Types.CourseSortKey;
 import com.unisystem.university.users.User;
 import com.unisystem.university.users.UserService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/courses")
 public class CourseController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private CourseService courseService;
     
     @Autowired
     private UserService userService; 
 
+    // the public catalog reads are served from memory, a miss still falls back to the database
+    // so a course written around the service (straight sql) shows up before the next reconcile
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    // answers If-None-Match from the catalog versions alone, the body is only built when the client's copy is stale
+    // the version is read before the body so a change landing in between costs one extra download, never a stale 304
+    // no-cache lets browsers keep the response but makes them revalidate it on every use
+    private static <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body.get());
+    }
+
+    // null for a course the catalog doesn't know, those are answered without an ETag
+    private String courseETag(Long courseId) {
+        return courseCatalog.getVersion(courseId).map(version -> "course-" + courseId + "-" + version).orElse(null);
+    }
+
     @GetMapping
-    public ResponseEntity<List<CourseResponse>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses().stream().map(CourseResponse::new)
-            .collect(Collectors.toList()));
+    public ResponseEntity<List<CourseResponse>> getAllCourses(WebRequest request) {
+        return conditional(request, "courses-" + courseCatalog.getVersion(), courseCatalog::getAll);
+    }
+
+    // typo tolerant search over course and lecturer names, page counts from 0
+    @GetMapping("/search")
+    public ResponseEntity<CourseSearchResponse> searchCourses(@RequestParam String searchWord,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(courseSearchIndex.search(searchWord, page, limit));
     }
 
     @GetMapping("/{courseId}")
-    public ResponseEntity<CourseResponse> getCourseById(@PathVariable Long courseId) {
-        return ResponseEntity.ok(new CourseResponse(courseService.getCourseById(courseId)));
+    public ResponseEntity<CourseResponse> getCourseById(@PathVariable Long courseId, WebRequest request) {
+        return conditional(request, courseETag(courseId), () -> courseCatalog.get(courseId)
+            .orElseGet(() -> new CourseResponse(courseService.getCourseById(courseId))));
+    }
+
+    // every filter is optional, the next page is asked for with the X-Next-Cursor header of the previous one
+    @GetMapping("/filter")
+    public ResponseEntity<List<CourseResponse>> filterCourses(@RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate registrationOpenOn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startsFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endsBy,
+            @RequestParam(required = false) Long lecturerId, @RequestParam(required = false) Boolean hasFreeSeats,
+            @RequestParam(defaultValue = "id") CourseSortKey sort, @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        CourseFilter filter = new CourseFilter(isActive, registrationOpenOn, startsFrom, endsBy, lecturerId, hasFreeSeats);
+        CoursePage page = courseService.getCoursePage(filter, sort, after, limit);
+        if (page.getNextCursor() == null) {
+            return ResponseEntity.ok(page.getItems());
+        }
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, page.getNextCursor()).body(page.getItems());
     }
 
     @GetMapping("/by-lecturer/{lecturerId}")
@@ -44,9 +106,33 @@ public class CourseController {
     }
 
     @GetMapping("/{courseId}/prerequisites")
-    public ResponseEntity<Set<CourseResponse>> getCoursePrerequisites(@PathVariable Long courseId) {
-        return ResponseEntity.ok(courseService.getCoursePrerequisite(courseId).stream().map(CourseResponse::new)
-            .collect(Collectors.toSet()));
+    public ResponseEntity<Set<CourseResponse>> getCoursePrerequisites(@PathVariable Long courseId, WebRequest request) {
+        // a change to a direct prerequisite also bumps this course's version
+        return conditional(request, courseETag(courseId), () -> courseCatalog.getPrerequisites(courseId)
+            .orElseGet(() -> courseService.getCoursePrerequisite(courseId).stream().map(CourseResponse::new)
+                .collect(Collectors.toSet())));
+    }
+
+    @GetMapping("/{courseId}/prerequisites/all")
+    public ResponseEntity<Set<CourseResponse>> getCoursePrerequisiteClosure(@PathVariable Long courseId, WebRequest request) {
+        // an indirect prerequisite doesn't bump this course, so the closure is stamped with the catalog version
+        String etag = courseCatalog.getVersion(courseId).map(version -> "closure-" + courseId + "-" 
+            + courseCatalog.getVersion()).orElse(null);
+        return conditional(request, etag, () -> courseCatalog.getPrerequisiteClosure(courseId)
+            .orElseGet(() -> courseService.getCoursePrerequisiteClosure(courseId).stream().map(CourseResponse::new)
+                .collect(Collectors.toSet())));
+    }
+
+    @GetMapping("/{courseId}/seats")
+    public ResponseEntity<CourseSeatsResponse> getCourseSeats(@PathVariable Long courseId) {
+        return ResponseEntity.ok(courseService.getSeats(courseId));
+    }
+
+    @PutMapping("/{courseId}/capacity")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<CourseSeatsResponse> setCourseCapacity(@PathVariable Long courseId, 
+            @RequestBody(required = false) Integer capacity) {
+        return ResponseEntity.ok(courseService.setCapacity(courseId, capacity));
     }
 
     @PostMapping
@@ -93,6 +179,13 @@ public class CourseController {
         return ResponseEntity.ok(new CourseResponse(updatedCourse));
     }
 
+    @DeleteMapping("/{courseId}/prerequisites/{prerequisiteCourseId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<CourseResponse> removePrerequisite(@PathVariable Long courseId, @PathVariable Long prerequisiteCourseId) {
+        Course updatedCourse = courseService.removePrerequisite(courseId, prerequisiteCourseId);
+        return ResponseEntity.ok(new CourseResponse(updatedCourse));
+    }
+
     @PatchMapping("/{courseId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     public ResponseEntity<CourseResponse> editCourse(@PathVariable Long courseId, @RequestBody CourseUpdateReq updateDTO) {
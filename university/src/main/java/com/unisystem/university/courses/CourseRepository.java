@@ -1,17 +1,53 @@
 package com.unisystem.university.courses;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.unisystem.university.users.User;
 
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseRepositoryCustom {
     Optional<Course> findByName(String name);
-    List<Course> findByLecturer(User lecturer);
     List<Course> findByIsActive(Boolean isActive);
+
+    // fetch plans for building CourseResponse, each one is a query for the course with its lecturer and
+    // lecture times followed by fetchPrerequisites / fetchAllPrerequisites for the same courses,
+    // both queries must run in one persistence context (a transaction) so the second fills the first's entities
+
+    // catalog list
+    @Override
+    @EntityGraph(Course.RESPONSE_GRAPH)
+    List<Course> findAll();
+
+    // detail, the catalog reloads changed courses with it
+    @EntityGraph(Course.RESPONSE_GRAPH)
+    @Query("select c from Course c where c.id in :ids")
+    List<Course> findDetailsByIdIn(Collection<Long> ids);
+
+    // lecturer view
+    @EntityGraph(Course.RESPONSE_GRAPH)
+    List<Course> findByLecturer(User lecturer);
+
+    // prerequisites of one course
+    @EntityGraph(Course.RESPONSE_GRAPH)
+    @Query("select p from Course p where p.id in (select q.id from Course c join c.prerequisites q where c.id = :courseId)")
+    List<Course> findPrerequisitesOf(Long courseId);
+
+    // the prerequisite lecturers come along so a prerequisite outside the loaded courses costs no extra select
+    @Query("select distinct c from Course c left join fetch c.prerequisites p left join fetch p.lecturer where c in :courses")
+    List<Course> fetchPrerequisites(Collection<Course> courses);
+
+    @Query("select distinct c from Course c left join fetch c.prerequisites p left join fetch p.lecturer")
+    List<Course> fetchAllPrerequisites();
+
+    // every (course id, prerequisite id) row of the course_prerequisites join table
+    @Query("select c.id, p.id from Course c join c.prerequisites p")
+    List<Object[]> findAllPrerequisiteEdges();
 }
@@ -0,0 +1,13 @@
+package com.unisystem.university.courses;
+
+import java.util.List;
+
+import com.unisystem.university.courses.DTOS.CourseFilter;
+import com.unisystem.university.courses.Types.CourseSortKey;
+import com.unisystem.university.paging.KeysetCursor;
+
+// keyset paged course lists, after is null for the first page
+public interface CourseRepositoryCustom {
+    // only the ids of the page, the courses are then loaded through the detail fetch plan
+    List<Long> findCourseIdPage(CourseFilter filter, CourseSortKey sort, KeysetCursor<CourseSortKey> after, int limit);
+}
@@ -0,0 +1,73 @@
+package com.unisystem.university.courses;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.unisystem.university.courses.DTOS.CourseFilter;
+import com.unisystem.university.courses.Types.CourseSortKey;
+import com.unisystem.university.paging.KeysetCursor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+// only the filters that are set become predicates and the page is cut by the KeysetCursor,
+// so a page is a range scan on one of the composite indexes of Course
+public class CourseRepositoryCustomImpl implements CourseRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findCourseIdPage(CourseFilter filter, CourseSortKey sort, KeysetCursor<CourseSortKey> after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Course> course = query.from(Course.class);
+        query.select(course.get("id"));
+
+        List<Predicate> predicates = filters(cb, query, course, filter);
+        if (after != null) {
+            predicates.add(after.after(cb, course));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(KeysetCursor.orderBy(cb, course, sort));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private List<Predicate> filters(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Course> course, CourseFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getIsActive() != null) {
+            predicates.add(cb.equal(course.get("isActive"), filter.getIsActive()));
+        }
+        if (filter.getLecturerId() != null) {
+            predicates.add(cb.equal(course.get("lecturer").get("id"), filter.getLecturerId()));
+        }
+        if (filter.getRegistrationOpenOn() != null) {
+            // registration end first, it is the range the (is_active, registration end) index scans
+            // and only the courses of the current term still have their registration end ahead
+            predicates.add(cb.greaterThanOrEqualTo(course.get("courseEndRegistirationDate"), filter.getRegistrationOpenOn()));
+            predicates.add(cb.lessThanOrEqualTo(course.get("courseStartRegistirationDate"), filter.getRegistrationOpenOn()));
+        }
+        if (filter.getStartsFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(course.get("startDate"), filter.getStartsFrom()));
+        }
+        if (filter.getEndsBy() != null) {
+            predicates.add(cb.lessThanOrEqualTo(course.get("endDate"), filter.getEndsBy()));
+        }
+        if (filter.getHasFreeSeats() != null) {
+            // a course is full when its seats row has a capacity and every seat is taken, no row means unlimited
+            Subquery<Long> full = query.subquery(Long.class);
+            Root<CourseSeats> seats = full.from(CourseSeats.class);
+            full.select(seats.get("courseId")).where(
+                cb.equal(seats.get("courseId"), course.get("id")),
+                cb.isNotNull(seats.get("capacity")),
+                cb.greaterThanOrEqualTo(seats.get("taken"), seats.get("capacity")));
+            predicates.add(filter.getHasFreeSeats() ? cb.not(cb.exists(full)) : cb.exists(full));
+        }
+        return predicates;
+    }
+}
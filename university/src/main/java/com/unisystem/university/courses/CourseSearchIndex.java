@@ -0,0 +1,318 @@
+package com.unisystem.university.courses;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.unisystem.university.courses.DTOS.CourseResponse;
+import com.unisystem.university.courses.DTOS.CourseSearchResponse;
+
+// in-memory search over course and lecturer names, answered without touching the database
+// every name is cut into trigrams ("  c", " ca", "cal" ...) with an inverted index from trigram to courses,
+// a course matches when it shares enough trigrams with the query so a typo only costs a few of them
+// the last query word is matched as a prefix, the user is probably still typing it
+// the index follows the CourseCatalog: when the catalog version moved only the courses whose own version
+// moved are re-indexed, into a copy that is swapped in so searches never wait for an update
+@Component
+public class CourseSearchIndex {
+    public static final int DEFAULT_LIMIT = 20;
+    // page * limit + limit, results deeper than this are not ranked
+    public static final int MAX_RESULTS = 1000;
+    public static final int MAX_QUERY_LENGTH = 100;
+    // share of the query trigrams a course must contain
+    private static final double MIN_COVERAGE = 0.5;
+
+    private final CourseCatalog courseCatalog;
+    private volatile Index index = Index.EMPTY;
+    private final ReentrantLock updating = new ReentrantLock();
+
+    public CourseSearchIndex(CourseCatalog courseCatalog) {
+        this.courseCatalog = courseCatalog;
+    }
+
+    private record Doc(CourseResponse course, long version, String name, String lecturer, String[] trigrams) {
+        static Doc of(CourseResponse course, long version) {
+            String name = normalize(course.getName());
+            String lecturer = normalize(course.getLecturerName());
+            Set<String> trigrams = new LinkedHashSet<>();
+            addTrigrams(trigrams, name, false);
+            addTrigrams(trigrams, lecturer, false);
+            return new Doc(course, version, name, lecturer, trigrams.toArray(new String[0]));
+        }
+    }
+
+    // docs by ordinal (null once the course is gone), postings hold ordinals in no particular order
+    private record Index(long catalogVersion, Doc[] docs, int live, Map<Long, Integer> ordinals,
+            Map<String, int[]> postings) {
+        static final Index EMPTY = new Index(Long.MIN_VALUE, new Doc[0], 0, Map.of(), Map.of());
+    }
+
+    private record Hit(Doc doc, double score) {
+    }
+
+    // best hit first, ties broken by name then id so pages are stable
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+        .thenComparing(hit -> hit.doc().course().getName(), Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(hit -> hit.doc().course().getId());
+
+    // lower case, accents dropped and everything but letters and digits turned into single spaces
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return decomposed.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{Nd}]+", " ").trim();
+    }
+
+    // two spaces in front of every word so short words and word starts get their own trigrams,
+    // one space after it unless the word is an unfinished prefix
+    static void addTrigrams(Set<String> trigrams, String normalized, boolean lastWordIsPrefix) {
+        if (normalized.isEmpty()) {
+            return;
+        }
+        String[] words = normalized.split(" ");
+        for (int w = 0; w < words.length; w++) {
+            boolean prefix = lastWordIsPrefix && w == words.length - 1;
+            String padded = "  " + words[w] + (prefix ? "" : " ");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+    }
+
+    public CourseSearchResponse search(String query, int page, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("search word can't be empty");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("search word can't be longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+        int pageSize = limit == null ? DEFAULT_LIMIT : limit;
+        long reach = ((long) page + 1) * pageSize;
+        if (page < 0 || pageSize < 1 || reach > MAX_RESULTS) {
+            throw new IllegalArgumentException("page and limit must be positive and reach at most the first "
+                + MAX_RESULTS + " results");
+        }
+
+        Index current = current();
+        String normalized = normalize(query);
+        Set<String> grams = new LinkedHashSet<>();
+        addTrigrams(grams, normalized, true);
+        if (grams.isEmpty()) {
+            return new CourseSearchResponse(query, page, 0, List.of());
+        }
+
+        // count the query trigrams every course shares, touched keeps the courses with at least one
+        short[] shared = new short[current.docs().length];
+        int[] touched = new int[64];
+        int touchedCount = 0;
+        for (String gram : grams) {
+            int[] posting = current.postings().get(gram);
+            if (posting == null) {
+                continue;
+            }
+            for (int ordinal : posting) {
+                if (shared[ordinal]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = ordinal;
+                }
+            }
+        }
+
+        // keep the best page * limit + limit hits in a min-heap, the worst kept hit on top
+        int keep = (int) reach;
+        PriorityQueue<Hit> best = new PriorityQueue<>(keep + 1, RANKING.reversed());
+        int needed = (int) Math.ceil(grams.size() * MIN_COVERAGE);
+        String wordStart = " " + normalized;
+        int total = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int ordinal = touched[i];
+            if (shared[ordinal] < needed) {
+                continue;
+            }
+            total++;
+            Doc doc = current.docs()[ordinal];
+            double score = score(doc, normalized, wordStart, shared[ordinal], grams.size());
+            // most hits of a broad query lose to the worst kept one, they are dropped without building a Hit
+            if (best.size() == keep && score < best.peek().score()) {
+                continue;
+            }
+            best.add(new Hit(doc, score));
+            if (best.size() > keep) {
+                best.poll();
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        List<CourseResponse> courses = ranked.stream().skip((long) page * pageSize).map(hit -> hit.doc().course()).toList();
+        return new CourseSearchResponse(query, page, total, courses);
+    }
+
+    // share of the query found, how close the whole course is to the query and a bonus for names starting with it
+    private static double score(Doc doc, String query, String wordStart, int shared, int queryGrams) {
+        double coverage = (double) shared / queryGrams;
+        double similarity = (double) shared / (queryGrams + doc.trigrams().length - shared);
+        double bonus = 0;
+        if (doc.name().startsWith(query)) {
+            bonus = 1;
+        } else if (doc.name().contains(wordStart)) {
+            bonus = 0.5;
+        } else if (doc.lecturer().startsWith(query) || doc.lecturer().contains(wordStart)) {
+            bonus = 0.25;
+        }
+        return coverage * 2 + similarity + bonus;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        current();
+    }
+
+    // the index for the catalog as it is now, brought up to date first if the catalog changed since
+    // a search arriving while another one applies the update keeps the previous index, only the first build is waited for
+    private Index current() {
+        Index current = index;
+        if (current.catalogVersion() == courseCatalog.getVersion()) {
+            return current;
+        }
+        if (current == Index.EMPTY) {
+            updating.lock();
+        } else if (!updating.tryLock()) {
+            return current;
+        }
+        try {
+            current = index;
+            if (current.catalogVersion() != courseCatalog.getVersion()) {
+                current = update(current);
+                index = current;
+            }
+            return current;
+        } finally {
+            updating.unlock();
+        }
+    }
+
+    private Index update(Index current) {
+        Map<Long, Doc> changed = new HashMap<>();
+        List<Long> catalogIds = new ArrayList<>(current.live());
+        int[] newCourses = {0};
+        long catalogVersion = courseCatalog.forEachCourse((course, version) -> {
+            catalogIds.add(course.getId());
+            Integer ordinal = current.ordinals().get(course.getId());
+            if (ordinal == null) {
+                newCourses[0]++;
+                changed.put(course.getId(), Doc.of(course, version));
+            } else if (current.docs()[ordinal].version() != version) {
+                changed.put(course.getId(), Doc.of(course, version));
+            }
+        });
+        // the ids are only compared when the counts say some course is gone
+        List<Long> removed = List.of();
+        if (current.live() + newCourses[0] != catalogIds.size()) {
+            Set<Long> inCatalog = new HashSet<>(catalogIds);
+            removed = current.ordinals().keySet().stream().filter(id -> !inCatalog.contains(id)).toList();
+        }
+
+        // past a quarter of the catalog (or of holes left by deleted courses) a fresh build is cheaper
+        int holes = current.docs().length - current.live() + removed.size();
+        if (changed.size() + removed.size() > catalogIds.size() / 4 || holes > current.docs().length / 4) {
+            return build();
+        }
+
+        Doc[] docs = Arrays.copyOf(current.docs(), current.docs().length + newCourses[0]);
+        Map<Long, Integer> ordinals = new HashMap<>(current.ordinals());
+        Map<String, List<Integer>> additions = new HashMap<>();
+        Map<String, Set<Integer>> removals = new HashMap<>();
+        int next = current.docs().length;
+        int live = current.live();
+
+        for (Long id : removed) {
+            int ordinal = ordinals.remove(id);
+            for (String gram : docs[ordinal].trigrams()) {
+                removals.computeIfAbsent(gram, g -> new HashSet<>()).add(ordinal);
+            }
+            docs[ordinal] = null;
+            live--;
+        }
+        for (Doc doc : changed.values()) {
+            Integer ordinal = ordinals.get(doc.course().getId());
+            if (ordinal == null) {
+                ordinal = next++;
+                ordinals.put(doc.course().getId(), ordinal);
+                live++;
+            } else {
+                for (String gram : docs[ordinal].trigrams()) {
+                    removals.computeIfAbsent(gram, g -> new HashSet<>()).add(ordinal);
+                }
+            }
+            docs[ordinal] = doc;
+            for (String gram : doc.trigrams()) {
+                additions.computeIfAbsent(gram, g -> new ArrayList<>()).add(ordinal);
+            }
+        }
+
+        // only the postings of touched trigrams are copied, the rest is shared with the previous index
+        Map<String, int[]> postings = new HashMap<>(current.postings());
+        Set<String> touched = new HashSet<>(removals.keySet());
+        touched.addAll(additions.keySet());
+        for (String gram : touched) {
+            Set<Integer> gone = removals.getOrDefault(gram, Set.of());
+            List<Integer> added = additions.getOrDefault(gram, List.of());
+            int[] old = postings.getOrDefault(gram, new int[0]);
+            int[] updated = new int[old.length + added.size()];
+            int size = 0;
+            for (int ordinal : old) {
+                if (!gone.contains(ordinal)) {
+                    updated[size++] = ordinal;
+                }
+            }
+            for (int ordinal : added) {
+                updated[size++] = ordinal;
+            }
+            if (size == 0) {
+                postings.remove(gram);
+            } else {
+                postings.put(gram, Arrays.copyOf(updated, size));
+            }
+        }
+        return new Index(catalogVersion, docs, live, ordinals, postings);
+    }
+
+    private Index build() {
+        List<Doc> docs = new ArrayList<>(courseCatalog.size());
+        long version = courseCatalog.forEachCourse((course, courseVersion) -> docs.add(Doc.of(course, courseVersion)));
+        Map<Long, Integer> ordinals = new HashMap<>();
+        Map<String, List<Integer>> lists = new HashMap<>();
+        for (int ordinal = 0; ordinal < docs.size(); ordinal++) {
+            Doc doc = docs.get(ordinal);
+            ordinals.put(doc.course().getId(), ordinal);
+            for (String gram : doc.trigrams()) {
+                lists.computeIfAbsent(gram, g -> new ArrayList<>()).add(ordinal);
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>();
+        lists.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+        return new Index(version, docs.toArray(new Doc[0]), docs.size(), ordinals, postings);
+    }
+
+    public int size() {
+        return index.live();
+    }
+}
@@ -0,0 +1,28 @@
+package com.unisystem.university.courses;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// seat capacity of a course, kept apart from the course row so the hot
+// "taken" counter doesn't contend with catalog reads and course edits
+// courses without a row have unlimited seats
+@Entity
+@Table(name = "course_seats")
+@Data
+@NoArgsConstructor
+public class CourseSeats {
+    @Id
+    private Long courseId;
+
+    private Integer capacity;
+    private Integer taken = 0;
+
+    public CourseSeats(Long courseId, Integer capacity, Integer taken){
+        this.courseId = courseId;
+        this.capacity = capacity;
+        this.taken = taken;
+    }
+}
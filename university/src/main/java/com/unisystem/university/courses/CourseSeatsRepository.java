@@ -0,0 +1,39 @@
+package com.unisystem.university.courses;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CourseSeatsRepository extends JpaRepository<CourseSeats, Long> {
+    // single conditional update, returns 0 when the course has not enough free seats
+    @Modifying
+    @Transactional
+    @Query("update CourseSeats s set s.taken = s.taken + :seats where s.courseId = :courseId " +
+        "and (s.capacity is null or s.taken + :seats <= s.capacity)")
+    int reserve(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    // ignores the capacity, used for admin overrides
+    @Modifying
+    @Transactional
+    @Query("update CourseSeats s set s.taken = s.taken + :seats where s.courseId = :courseId")
+    int forceReserve(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    @Modifying
+    @Transactional
+    @Query("update CourseSeats s set s.taken = s.taken - :seats where s.courseId = :courseId and s.taken >= :seats")
+    int release(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    @Query(value = "select count(*) from enrollment e where e.course_id = :courseId and e.status <> 'Dropped'", 
+        nativeQuery = true)
+    int countTakenSeats(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "update course_seats s set s.taken = (select count(*) from enrollment e " +
+        "where e.course_id = s.course_id and e.status <> 'Dropped')", nativeQuery = true)
+    int syncTakenWithEnrollments();
+}
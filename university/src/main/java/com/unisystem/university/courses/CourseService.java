@@ -1,22 +1,55 @@
 package com.unisystem.university.courses;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.unisystem.university.courses.DTOS.CourseFilter;
+import com.unisystem.university.courses.DTOS.CoursePage;
+import com.unisystem.university.courses.DTOS.CourseResponse;
+import com.unisystem.university.courses.DTOS.CourseSeatsResponse;
+import com.unisystem.university.courses.Types.CourseSortKey;
+import com.unisystem.university.lectureTime.ScheduleIndex;
+import com.unisystem.university.paging.KeysetCursor;
 import com.unisystem.university.users.User;
 
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
 public class CourseService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private CourseRepository courseRepo;
+    private PrerequisiteGraph prerequisiteGraph;
+    private SeatAllocator seatAllocator;
+    private ApplicationEventPublisher eventPublisher;
+    private ScheduleIndex scheduleIndex;
 
-    public CourseService(CourseRepository _courseRepo){
+    public CourseService(CourseRepository _courseRepo, PrerequisiteGraph _prerequisiteGraph, SeatAllocator _seatAllocator,
+            ApplicationEventPublisher _eventPublisher, ScheduleIndex _scheduleIndex){
         this.courseRepo = _courseRepo;
+        this.prerequisiteGraph = _prerequisiteGraph;
+        this.seatAllocator = _seatAllocator;
+        this.eventPublisher = _eventPublisher;
+        this.scheduleIndex = _scheduleIndex;
+    }
+
+    // tells the catalog read model to reload the course
+    private Course courseChanged(Course course){
+        if (course != null) {
+            eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        }
+        return course;
     }
 
     // helper function to validate course details
@@ -58,7 +91,7 @@ public class CourseService {
                     
         Course newCourse = new Course(courseName, startDate, endDate, courseStartRegistrationDate, 
             courseEndRegistrationDate, lecturer, isActive);
-        return courseRepo.save(newCourse);
+        return courseChanged(courseRepo.save(newCourse));
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
@@ -76,35 +109,139 @@ public class CourseService {
             newCourse.setPrerequisites(preReqs);
         }
 
-        return courseRepo.save(newCourse);
+        Course savedCourse = courseRepo.save(newCourse);
+        // a brand new course has no dependents so its edges can never close a cycle
+        if (preReqs != null) {
+            for (Course prereq : preReqs) {
+                prerequisiteGraph.tryAddEdge(savedCourse.getId(), prereq.getId());
+            }
+        }
+        return courseChanged(savedCourse);
     }
 
+    // second query of the fetch plans, fills the prerequisites of courses the first query loaded
+    private List<Course> withPrerequisites(List<Course> courses){
+        if (!courses.isEmpty()) {
+            courseRepo.fetchPrerequisites(courses);
+        }
+        return courses;
+    }
+
+    // the read methods below return courses ready for CourseResponse, nothing is lazy loaded afterwards
+    @Transactional(readOnly = true)
     public List<Course> getAllCourses(){
-        return courseRepo.findAll();
+        List<Course> courses = courseRepo.findAll();
+        if (!courses.isEmpty()) {
+            courseRepo.fetchAllPrerequisites();
+        }
+        return courses;
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getLecturerCourses(User lecturer){
-        return courseRepo.findByLecturer(lecturer);
+        return withPrerequisites(courseRepo.findByLecturer(lecturer));
     }
 
+    @Transactional(readOnly = true)
     public Set<Course> getCoursePrerequisite(Long courseId){
-        Course course = getCourseById(courseId);
-        return course.getPrerequisites();
+        getCourseById(courseId);
+        return new HashSet<>(withPrerequisites(courseRepo.findPrerequisitesOf(courseId)));
+    }
+
+    // keyset page of the courses matching the filter, the page ids come from one indexed query
+    // and the courses are then loaded through the detail fetch plan
+    @Transactional(readOnly = true)
+    public CoursePage getCoursePage(CourseFilter filter, CourseSortKey sort, String after, Integer limit){
+        if (filter.getStartsFrom() != null && filter.getEndsBy() != null 
+                && filter.getStartsFrom().isAfter(filter.getEndsBy())) {
+            throw new IllegalArgumentException("startsFrom cannot be after endsBy.");
+        }
+        int pageSize = pageSize(limit);
+        List<Long> ids = courseRepo.findCourseIdPage(filter, sort, 
+            after == null ? null : KeysetCursor.decode(after, sort), pageSize + 1);
+        // one extra id is fetched to know if there is a next page
+        boolean hasNext = ids.size() > pageSize;
+        List<Long> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new CoursePage(List.of(), null);
+        }
+
+        Map<Long, Course> loaded = withPrerequisites(courseRepo.findDetailsByIdIn(pageIds)).stream()
+            .collect(Collectors.toMap(Course::getId, course -> course));
+        List<Course> courses = pageIds.stream().map(loaded::get).filter(course -> course != null).toList();
+        String nextCursor = hasNext && !courses.isEmpty() 
+            ? cursorAfter(sort, courses.get(courses.size() - 1)).encode() : null;
+        return new CoursePage(courses.stream().map(CourseResponse::new).toList(), nextCursor);
+    }
+
+    private static KeysetCursor<CourseSortKey> cursorAfter(CourseSortKey sort, Course course){
+        Object value = switch (sort) {
+            case id -> null;
+            case name -> course.getName();
+            case startDate -> course.getStartDate();
+            case registrationEnd -> course.getCourseEndRegistirationDate();
+        };
+        return new KeysetCursor<>(sort, value, course.getId());
+    }
+
+    private int pageSize(Integer limit){
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    // all the courses required (directly or not) to take this course
+    @Transactional(readOnly = true)
+    public List<Course> getCoursePrerequisiteClosure(Long courseId){
+        Set<Long> closure = prerequisiteGraph.closureOf(courseId);
+        if (closure.isEmpty()) {
+            if (!courseRepo.existsById(courseId)) {
+                throw new EntityNotFoundException("course with id: " + courseId + " not found");
+            }
+            return List.of();
+        }
+        return withPrerequisites(courseRepo.findDetailsByIdIn(closure));
     }
 
     public Course addPrerequisite(Long courseId, Long requisiteCourseId){
         Course course = getCourseById(courseId);
         Course requisitCourse = getCourseById(requisiteCourseId);
-        for(Course prereq : course.getPrerequisites()){
-            if (prereq.getName() == requisitCourse.getName()) {
-                throw new RuntimeException("Course: " + requisitCourse.getName() + 
-                    " already exists in course: " + course.getName() + " prerequisites.");
-            }
+        if (prerequisiteGraph.hasDirect(courseId, requisiteCourseId)) {
+            throw new RuntimeException("Course: " + requisitCourse.getName() + 
+                " already exists in course: " + course.getName() + " prerequisites.");
+        }
+        // checks and reserves the edge in one step so two concurrent adds can't close a cycle
+        if (!prerequisiteGraph.tryAddEdge(courseId, requisiteCourseId)) {
+            throw new RuntimeException("Course: " + requisitCourse.getName() + 
+                " can not be a prerequisite of course: " + course.getName() + 
+                " because it would create a prerequisite cycle.");
+        }
+
+        try {
+            course.addPrerequisite(requisitCourse);
+            return courseChanged(courseRepo.save(course));
+        } catch (RuntimeException e) {
+            prerequisiteGraph.removeEdge(courseId, requisiteCourseId);
+            throw e;
+        }
+    }
+
+    public Course removePrerequisite(Long courseId, Long requisiteCourseId){
+        Course course = getCourseById(courseId);
+        Course requisitCourse = getCourseById(requisiteCourseId);
+        if (!prerequisiteGraph.hasDirect(courseId, requisiteCourseId)) {
+            throw new RuntimeException("Course: " + requisitCourse.getName() + 
+                " is not a prerequisite of course: " + course.getName());
         }
 
-        course.addPrerequisite(requisitCourse);
-        courseRepo.save(requisitCourse);
-        return courseRepo.save(course);
+        course.removePrerequisite(requisitCourse);
+        Course savedCourse = courseRepo.save(course);
+        prerequisiteGraph.removeEdge(courseId, requisiteCourseId);
+        return courseChanged(savedCourse);
     }
 
     public Course getCourseById(Long courseId) throws EntityNotFoundException{
@@ -112,8 +249,32 @@ public class CourseService {
             .orElseThrow(() -> new EntityNotFoundException("course with id: " + courseId + " not found"));
     }
 
+    public Map<Long, Course> getCoursesByIds(Collection<Long> courseIds){
+        return courseRepo.findAllById(courseIds).stream()
+            .collect(Collectors.toMap(Course::getId, course -> course));
+    }
+
+    // null capacity means unlimited seats
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public CourseSeatsResponse setCapacity(Long courseId, Integer capacity){
+        if (capacity != null && capacity < 0) {
+            throw new IllegalArgumentException("Course capacity can not be negative.");
+        }
+        getCourseById(courseId);
+        seatAllocator.setCapacity(courseId, capacity);
+        return seatAllocator.getSeats(courseId);
+    }
+
+    public CourseSeatsResponse getSeats(Long courseId){
+        getCourseById(courseId);
+        return seatAllocator.getSeats(courseId);
+    }
+
     public void deleteCourseById(Long courseId){
         courseRepo.deleteById(courseId);
+        prerequisiteGraph.removeCourse(courseId);
+        scheduleIndex.evict(courseId);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId));
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
@@ -150,6 +311,6 @@ public class CourseService {
         }
 
         course.setUpdatedAt(LocalDate.now());
-        return courseRepo.save(course);
+        return courseChanged(courseRepo.save(course));
     }
 }
@@ -0,0 +1,18 @@
+package com.unisystem.university.courses.DTOS;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// every field is optional, the filters that are set all have to match
+@Data
+@AllArgsConstructor
+public class CourseFilter {
+    private Boolean isActive;
+    private LocalDate registrationOpenOn; // the registration window contains this day
+    private LocalDate startsFrom; // course starts on or after
+    private LocalDate endsBy; // course ends on or before
+    private Long lecturerId;
+    private Boolean hasFreeSeats; // courses without a capacity always have free seats
+}
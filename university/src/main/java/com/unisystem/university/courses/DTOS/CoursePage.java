@@ -0,0 +1,13 @@
+package com.unisystem.university.courses.DTOS;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CoursePage {
+    private List<CourseResponse> items;
+    private String nextCursor; // null on the last page
+}
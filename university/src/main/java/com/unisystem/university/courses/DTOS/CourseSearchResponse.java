@@ -0,0 +1,15 @@
+package com.unisystem.university.courses.DTOS;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CourseSearchResponse {
+    private String searchWord;
+    private int page;
+    private int total; // matching courses over all the pages
+    private List<CourseResponse> courses; // best match first
+}
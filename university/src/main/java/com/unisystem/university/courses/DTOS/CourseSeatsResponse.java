@@ -0,0 +1,20 @@
+package com.unisystem.university.courses.DTOS;
+
+import lombok.Data;
+
+@Data
+public class CourseSeatsResponse {
+    private Long courseId;
+    private Integer capacity; // null means unlimited
+    private Integer taken;
+    private Integer available;
+
+    public CourseSeatsResponse(Long courseId, Integer capacity, Integer taken){
+        this.courseId = courseId;
+        this.capacity = capacity;
+        this.taken = taken;
+        if (capacity != null) {
+            this.available = Math.max(capacity - taken, 0);
+        }
+    }
+}
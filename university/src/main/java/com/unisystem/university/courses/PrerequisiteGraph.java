@@ -0,0 +1,185 @@
+package com.unisystem.university.courses;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// in-memory index over the course_prerequisites join table
+// holds the direct edges and the precomputed transitive closure of every course
+// the graph is kept acyclic: edges that would close a cycle are refused
+@Component
+public class PrerequisiteGraph {
+    private static final Logger log = LoggerFactory.getLogger(PrerequisiteGraph.class);
+
+    private final CourseRepository courseRepo;
+
+    // course id -> ids of the courses directly required to take it
+    private final Map<Long, Set<Long>> direct = new HashMap<>();
+    // course id -> ids of every course required (directly or not) to take it
+    private final Map<Long, Set<Long>> closure = new HashMap<>();
+    private boolean loaded = false;
+
+    public PrerequisiteGraph(CourseRepository courseRepo) {
+        this.courseRepo = courseRepo;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        for (Object[] edge : courseRepo.findAllPrerequisiteEdges()) {
+            direct.computeIfAbsent((Long) edge[0], id -> new HashSet<>()).add((Long) edge[1]);
+        }
+        dropCycles();
+        for (Long courseId : direct.keySet()) {
+            computeClosure(courseId);
+        }
+        loaded = true;
+    }
+
+    // rows saved before cycles were refused can still close one, the closure walk would never end on them
+    // so the edges that close a cycle are left out of the index
+    private void dropCycles() {
+        Set<Long> done = new HashSet<>();
+        Set<Long> onStack = new HashSet<>();
+        List<Long[]> backEdges = new ArrayList<>();
+        for (Long courseId : direct.keySet()) {
+            findBackEdges(courseId, done, onStack, backEdges);
+        }
+        for (Long[] edge : backEdges) {
+            direct.get(edge[0]).remove(edge[1]);
+            log.warn("prerequisite {} of course {} closes a cycle, it is ignored", edge[1], edge[0]);
+        }
+    }
+
+    private void findBackEdges(Long courseId, Set<Long> done, Set<Long> onStack, List<Long[]> backEdges) {
+        if (done.contains(courseId)) {
+            return;
+        }
+        onStack.add(courseId);
+        for (Long prereqId : direct.getOrDefault(courseId, Set.of())) {
+            if (onStack.contains(prereqId)) {
+                backEdges.add(new Long[] {courseId, prereqId});
+            } else {
+                findBackEdges(prereqId, done, onStack, backEdges);
+            }
+        }
+        onStack.remove(courseId);
+        done.add(courseId);
+    }
+
+    // depth first walk over the direct edges, reusing closures that are already known
+    private Set<Long> computeClosure(Long courseId) {
+        Set<Long> known = closure.get(courseId);
+        if (known != null) {
+            return known;
+        }
+        Set<Long> result = new HashSet<>();
+        for (Long prereqId : direct.getOrDefault(courseId, Set.of())) {
+            result.add(prereqId);
+            result.addAll(computeClosure(prereqId));
+        }
+        closure.put(courseId, result);
+        return result;
+    }
+
+    private Set<Long> closureFor(Long courseId) {
+        Set<Long> result = closure.get(courseId);
+        return result != null ? result : computeClosure(courseId);
+    }
+
+    public synchronized Set<Long> closureOf(Long courseId) {
+        ensureLoaded();
+        return Set.copyOf(closureFor(courseId));
+    }
+
+    public synchronized boolean hasDirect(Long courseId, Long prereqId) {
+        ensureLoaded();
+        return direct.getOrDefault(courseId, Set.of()).contains(prereqId);
+    }
+
+    // courses that list this course as a direct prerequisite
+    public synchronized Set<Long> directDependents(Long courseId) {
+        ensureLoaded();
+        Set<Long> dependents = new HashSet<>();
+        direct.forEach((id, prereqs) -> {
+            if (prereqs.contains(courseId)) {
+                dependents.add(id);
+            }
+        });
+        return dependents;
+    }
+
+    public synchronized boolean wouldCreateCycle(Long courseId, Long prereqId) {
+        ensureLoaded();
+        return courseId.equals(prereqId) || closureFor(prereqId).contains(courseId);
+    }
+
+    // returns false when the edge already exists or would create a cycle
+    public synchronized boolean tryAddEdge(Long courseId, Long prereqId) {
+        if (hasDirect(courseId, prereqId) || wouldCreateCycle(courseId, prereqId)) {
+            return false;
+        }
+        direct.computeIfAbsent(courseId, id -> new HashSet<>()).add(prereqId);
+
+        // every course that needs courseId now also needs prereqId and all of its prerequisites
+        Set<Long> added = new HashSet<>(closureFor(prereqId));
+        added.add(prereqId);
+        closureFor(courseId).addAll(added);
+        for (Set<Long> courseClosure : closure.values()) {
+            if (courseClosure.contains(courseId)) {
+                courseClosure.addAll(added);
+            }
+        }
+        return true;
+    }
+
+    public synchronized void removeEdge(Long courseId, Long prereqId) {
+        ensureLoaded();
+        Set<Long> prereqs = direct.get(courseId);
+        if (prereqs == null || !prereqs.remove(prereqId)) {
+            return;
+        }
+        recompute(affectedBy(courseId));
+    }
+
+    public synchronized void removeCourse(Long courseId) {
+        ensureLoaded();
+        Set<Long> affected = affectedBy(courseId);
+        affected.remove(courseId);
+        direct.remove(courseId);
+        closure.remove(courseId);
+        for (Set<Long> prereqs : direct.values()) {
+            prereqs.remove(courseId);
+        }
+        recompute(affected);
+    }
+
+    // only the course itself and the courses that depend on it can be affected by losing one of its edges
+    private Set<Long> affectedBy(Long courseId) {
+        Set<Long> affected = new HashSet<>();
+        affected.add(courseId);
+        closure.forEach((id, courseClosure) -> {
+            if (courseClosure.contains(courseId)) {
+                affected.add(id);
+            }
+        });
+        return affected;
+    }
+
+    private void recompute(Set<Long> courseIds) {
+        for (Long id : courseIds) {
+            closure.remove(id);
+        }
+        for (Long id : courseIds) {
+            computeClosure(id);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.unisystem.university.courses;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.unisystem.university.courses.DTOS.CourseSeatsResponse;
+
+// seat allocation for courses with a capacity
+// the database row is the source of truth and every reservation is one conditional
+// update, so no lock is held while the enrollment is validated
+// the in-process counters only let requests for a full course fail without a DB round trip
+@Component
+public class SeatAllocator {
+    private final CourseSeatsRepository seatsRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+
+    private static final SeatCounter UNLIMITED = new SeatCounter(null, 0);
+
+    private static class SeatCounter {
+        private final Integer capacity;
+        private final AtomicInteger taken;
+
+        SeatCounter(Integer capacity, int taken) {
+            this.capacity = capacity;
+            this.taken = new AtomicInteger(taken);
+        }
+
+        boolean isFull() {
+            return capacity != null && taken.get() >= capacity;
+        }
+    }
+
+    public SeatAllocator(CourseSeatsRepository seatsRepo, ApplicationEventPublisher eventPublisher) {
+        this.seatsRepo = seatsRepo;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // enrollments may have changed while the app was down
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncWithEnrollments() {
+        seatsRepo.syncTakenWithEnrollments();
+        counters.clear();
+    }
+
+    private SeatCounter counterOf(Long courseId) {
+        return counters.computeIfAbsent(courseId, id -> seatsRepo.findById(id)
+            .map(seats -> seats.getCapacity() == null ? UNLIMITED : new SeatCounter(seats.getCapacity(), seats.getTaken()))
+            .orElse(UNLIMITED));
+    }
+
+    public boolean tryReserve(Long courseId) {
+        return tryReserve(courseId, 1) == 1;
+    }
+
+    // returns how many of the requested seats were granted
+    public int tryReserve(Long courseId, int seats) {
+        SeatCounter counter = counterOf(courseId);
+        if (counter == UNLIMITED) {
+            return seats;
+        }
+        if (counter.isFull()) {
+            return 0;
+        }
+        if (seatsRepo.reserve(courseId, seats) == 1) {
+            counter.taken.addAndGet(seats);
+            return seats;
+        }
+        // not enough seats for all of them, take what is left one by one
+        int granted = 0;
+        while (granted < seats && seatsRepo.reserve(courseId, 1) == 1) {
+            granted++;
+        }
+        counter.taken.set(Math.max(counter.taken.get() + granted, counter.capacity));
+        return granted;
+    }
+
+    public void forceReserve(Long courseId) {
+        if (counterOf(courseId) != UNLIMITED) {
+            seatsRepo.forceReserve(courseId, 1);
+            counters.remove(courseId);
+        }
+    }
+
+    public void release(Long courseId) {
+        release(courseId, 1);
+    }
+
+    public void release(Long courseId, int seats) {
+        if (counterOf(courseId) != UNLIMITED) {
+            seatsRepo.release(courseId, seats);
+            // reload from the database on next use instead of trusting the hint
+            counters.remove(courseId);
+            eventPublisher.publishEvent(new SeatReleasedEvent(courseId));
+        }
+    }
+
+    public boolean hasFreeSeat(Long courseId) {
+        return !counterOf(courseId).isFull();
+    }
+
+    // drops the cached counter after a failed write that may have been rolled back
+    public void evict(Long courseId) {
+        counters.remove(courseId);
+    }
+
+    public void setCapacity(Long courseId, Integer capacity) {
+        CourseSeats seats = seatsRepo.findById(courseId).orElseGet(() -> new CourseSeats(courseId, null, 0));
+        // uncapped courses don't track their seats, so start from the real count
+        seats.setTaken(seatsRepo.countTakenSeats(courseId));
+        seats.setCapacity(capacity);
+        seatsRepo.save(seats);
+        counters.remove(courseId);
+    }
+
+    public CourseSeatsResponse getSeats(Long courseId) {
+        return seatsRepo.findById(courseId)
+            .map(seats -> new CourseSeatsResponse(courseId, seats.getCapacity(), seats.getTaken()))
+            .orElseGet(() -> new CourseSeatsResponse(courseId, null, seatsRepo.countTakenSeats(courseId)));
+    }
+}
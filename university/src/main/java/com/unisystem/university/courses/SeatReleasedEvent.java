@@ -0,0 +1,5 @@
+package com.unisystem.university.courses;
+
+// published by SeatAllocator after a seat of a capped course was given back
+public record SeatReleasedEvent(Long courseId) {
+}
@@ -0,0 +1,34 @@
+package com.unisystem.university.courses.Types;
+
+import java.time.LocalDate;
+
+import com.unisystem.university.paging.KeysetSortKey;
+
+// keys course lists can be paged by, every key is followed by the course id so the order is total
+public enum CourseSortKey implements KeysetSortKey {
+    id("id"),
+    name("name"),
+    startDate("startDate"),
+    registrationEnd("courseEndRegistirationDate");
+
+    private final String attribute;
+
+    CourseSortKey(String attribute) {
+        this.attribute = attribute;
+    }
+
+    // the Course field the key sorts on
+    @Override
+    public String getAttribute() {
+        return attribute;
+    }
+
+    @Override
+    public Object parse(String value) {
+        return switch (this) {
+            case id -> Long.valueOf(value);
+            case name -> value;
+            case startDate, registrationEnd -> LocalDate.parse(value);
+        };
+    }
+}
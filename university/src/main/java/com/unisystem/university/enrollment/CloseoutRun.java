@@ -0,0 +1,48 @@
+package com.unisystem.university.enrollment;
+
+import java.time.LocalDateTime;
+
+import com.unisystem.university.enrollment.Types.CloseoutStatus;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one semester close-out: what it transitions, how far it got and what it changed
+// progress is saved with every chunk so a run interrupted by a crash resumes after lastEnrollmentId
+@Entity
+@Table(name = "closeout_run")
+@Data
+@NoArgsConstructor
+public class CloseoutRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Integer semester;
+    private String courseIds; // comma separated, null for every course of the semester
+
+    // InProgress enrollments with a grade become Completed, the ungraded ones get this status
+    @Enumerated(EnumType.STRING)
+    private CourseStatus ungradedStatus;
+
+    @Enumerated(EnumType.STRING)
+    private CloseoutStatus status;
+
+    private Long lastEnrollmentId = 0L;
+    private Long totalCount = 0L;
+    private Long completedCount = 0L;
+    private Long droppedCount = 0L;
+    private Integer chunks = 0;
+    private String error;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
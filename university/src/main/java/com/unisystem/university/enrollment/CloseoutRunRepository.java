@@ -0,0 +1,14 @@
+package com.unisystem.university.enrollment;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.unisystem.university.enrollment.Types.CloseoutStatus;
+
+@Repository
+public interface CloseoutRunRepository extends JpaRepository<CloseoutRun, Long> {
+    List<CloseoutRun> findByStatusOrderById(CloseoutStatus status);
+    List<CloseoutRun> findBySemesterOrderByIdDesc(Integer semester);
+}
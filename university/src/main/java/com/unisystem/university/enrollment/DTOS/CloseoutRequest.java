@@ -0,0 +1,14 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import java.util.List;
+
+import com.unisystem.university.enrollment.Types.CourseStatus;
+
+import lombok.Data;
+
+@Data
+public class CloseoutRequest {
+    private Integer semester;
+    private List<Long> courseIds; // optional, every course of the semester when empty
+    private CourseStatus ungradedStatus = CourseStatus.Dropped;
+}
@@ -0,0 +1,42 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import java.time.LocalDateTime;
+
+import com.unisystem.university.enrollment.CloseoutRun;
+import com.unisystem.university.enrollment.Types.CloseoutStatus;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+
+import lombok.Data;
+
+@Data
+public class CloseoutRunResponse {
+    private Long id;
+    private Integer semester;
+    private String courseIds;
+    private CourseStatus ungradedStatus;
+    private CloseoutStatus status;
+    private Long totalCount;
+    private Long processedCount;
+    private Long completedCount;
+    private Long droppedCount;
+    private Integer chunks;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public CloseoutRunResponse(CloseoutRun run){
+        this.id = run.getId();
+        this.semester = run.getSemester();
+        this.courseIds = run.getCourseIds();
+        this.ungradedStatus = run.getUngradedStatus();
+        this.status = run.getStatus();
+        this.totalCount = run.getTotalCount();
+        this.completedCount = run.getCompletedCount();
+        this.droppedCount = run.getDroppedCount();
+        this.processedCount = completedCount + droppedCount;
+        this.chunks = run.getChunks();
+        this.error = run.getError();
+        this.startedAt = run.getStartedAt();
+        this.finishedAt = run.getFinishedAt();
+    }
+}
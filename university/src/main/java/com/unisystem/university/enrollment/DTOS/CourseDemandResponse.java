@@ -0,0 +1,18 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CourseDemandResponse {
+    private Long courseId;
+    private String courseName;
+    private Long enrolledLast5m;
+    private Long enrolledLast15m;
+    private Long enrolledLastHour;
+    private Long droppedLastHour;
+    private Double enrollmentsPerMinute; // net, averaged over the last 15 minutes
+    private Integer seatsTaken;
+    private Integer capacity; // null means unlimited seats
+}
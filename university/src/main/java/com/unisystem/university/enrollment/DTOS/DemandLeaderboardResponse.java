@@ -0,0 +1,14 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DemandLeaderboardResponse {
+    private LocalDateTime computedAt;
+    private List<CourseDemandResponse> courses; // fastest filling first
+}
@@ -0,0 +1,24 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentBatchResult {
+    private Long studentId;
+    private Long courseId;
+    private Integer semester;
+    private boolean success;
+    private String error;
+
+    public static EnrollmentBatchResult succeeded(EnrollmentRequest req){
+        return new EnrollmentBatchResult(req.getStudentId(), req.getCourseId(), req.getSemester(), true, null);
+    }
+
+    public static EnrollmentBatchResult failed(EnrollmentRequest req, String error){
+        return new EnrollmentBatchResult(req.getStudentId(), req.getCourseId(), req.getSemester(), false, error);
+    }
+}
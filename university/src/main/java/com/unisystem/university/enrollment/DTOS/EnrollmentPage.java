@@ -0,0 +1,13 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EnrollmentPage<T> {
+    private List<T> items;
+    private String nextCursor; // null on the last page
+}
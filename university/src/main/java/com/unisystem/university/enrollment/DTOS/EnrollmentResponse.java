@@ -6,9 +6,11 @@ import com.unisystem.university.enrollment.Enrollment;
 import com.unisystem.university.enrollment.Types.CourseStatus;
 import com.unisystem.university.enrollment.Types.Grade;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 
 @Data
+@AllArgsConstructor
 public class EnrollmentResponse {
     private Long id;
     private Long studentId;
@@ -0,0 +1,22 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import java.time.LocalDateTime;
+
+import com.unisystem.university.enrollment.Types.SubmissionStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EnrollmentSubmissionResponse {
+    private String id;
+    private SubmissionStatus status;
+    private Long studentId;
+    private Long courseId;
+    private Integer semester;
+    private EnrollmentResponse enrollment; // set once the submission succeeded
+    private String error; // why the enrollment was refused when it failed
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+}
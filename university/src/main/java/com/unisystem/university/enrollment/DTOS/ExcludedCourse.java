@@ -0,0 +1,13 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// a wished course that can't be part of any schedule and why
+@Data
+@AllArgsConstructor
+public class ExcludedCourse {
+    private Long courseId;
+    private String courseName;
+    private String reason;
+}
@@ -0,0 +1,26 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import com.unisystem.university.enrollment.Types.Grade;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeUploadResult {
+    private Long enrollmentId;
+    private Long studentId;
+    private Grade grade;
+    private boolean success;
+    private String error;
+
+    public static GradeUploadResult succeeded(Long enrollmentId, Long studentId, Grade grade){
+        return new GradeUploadResult(enrollmentId, studentId, grade, true, null);
+    }
+
+    public static GradeUploadResult failed(GradeUploadRow row, String error){
+        return new GradeUploadResult(row.getEnrollmentId(), row.getStudentId(), row.getGrade(), false, error);
+    }
+}
@@ -0,0 +1,59 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.unisystem.university.enrollment.Types.Grade;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one line of a bulk grade upload, the target is the enrollment id or the student id
+// (plus the semester when the student took the course more than once)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeUploadRow {
+    private Long enrollmentId;
+    private Long studentId;
+    private Integer semester;
+    private Grade grade;
+
+    // csv with a header line naming the columns: enrollmentId, studentId, semester, grade
+    public static List<GradeUploadRow> fromCsv(String csv){
+        String[] lines = csv.strip().split("\\r?\\n");
+        List<String> header = Arrays.stream(lines[0].split(",")).map(String::strip).toList();
+        if (!header.contains("grade") || (!header.contains("enrollmentId") && !header.contains("studentId"))) {
+            throw new IllegalArgumentException("csv header must have a grade column and an enrollmentId or studentId column");
+        }
+
+        List<GradeUploadRow> rows = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].isBlank()) {
+                continue;
+            }
+            String[] values = lines[i].split(",", -1);
+            try {
+                rows.add(new GradeUploadRow(
+                    parseLong(column(header, values, "enrollmentId")),
+                    parseLong(column(header, values, "studentId")),
+                    column(header, values, "semester").isEmpty() ? null : Integer.valueOf(column(header, values, "semester")),
+                    column(header, values, "grade").isEmpty() ? null : Grade.valueOf(column(header, values, "grade"))));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("invalid csv line " + (i + 1) + ": " + lines[i]);
+            }
+        }
+        return rows;
+    }
+
+    private static String column(List<String> header, String[] values, String name){
+        int index = header.indexOf(name);
+        return index < 0 || index >= values.length ? "" : values[index].strip();
+    }
+
+    private static Long parseLong(String value){
+        return value.isEmpty() ? null : Long.valueOf(value);
+    }
+}
@@ -0,0 +1,15 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// one conflict-free set of wished courses, the ids are in the order they were asked for
+@Data
+@AllArgsConstructor
+public class ScheduleOption {
+    private List<Long> courseIds;
+    private List<String> courseNames;
+    private Integer size;
+}
@@ -0,0 +1,15 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ScheduleOptionsResponse {
+    private Long studentId;
+    private List<ScheduleOption> options; // largest first
+    private List<ExcludedCourse> excluded;
+    private Boolean complete; // false when the time budget ran out before every option was explored
+}
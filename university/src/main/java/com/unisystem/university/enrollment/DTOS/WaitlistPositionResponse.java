@@ -0,0 +1,14 @@
+package com.unisystem.university.enrollment.DTOS;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class WaitlistPositionResponse {
+    private Long courseId;
+    private Long studentId;
+    private Integer semester;
+    private Integer position; // 1 is the next student to get a seat, null when not waiting
+    private Integer waiting;
+}
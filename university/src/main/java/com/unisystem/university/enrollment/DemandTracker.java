@@ -0,0 +1,174 @@
+package com.unisystem.university.enrollment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.CourseRepository;
+import com.unisystem.university.courses.CourseSeats;
+import com.unisystem.university.courses.CourseSeatsRepository;
+import com.unisystem.university.enrollment.DTOS.CourseDemandResponse;
+import com.unisystem.university.enrollment.DTOS.DemandLeaderboardResponse;
+import com.unisystem.university.enrollment.EnrollmentChangedEvent.Snapshot;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+
+// which courses are filling fastest, kept in memory from EnrollmentChangedEvent
+// every course gets a ring of one-minute buckets covering the last hour, a scheduled refresh ranks them
+// and keeps the top-K as an immutable snapshot, so reading the leaderboard costs the same for any catalog size
+// the enrollment table is never queried, the refresh only reads the names and seats of the K ranked courses
+@Component
+public class DemandTracker {
+    private static final long BUCKET_MILLIS = 60_000;
+    private static final int BUCKETS = 60;
+
+    private final CourseRepository courseRepo;
+    private final CourseSeatsRepository courseSeatsRepo;
+    private final int topK;
+    private final Map<Long, CourseDemand> demand = new ConcurrentHashMap<>();
+    private volatile DemandLeaderboardResponse leaderboard = new DemandLeaderboardResponse(LocalDateTime.now(), List.of());
+
+    // per minute enrollments and drops of one course, slot i holds minute stamps[i]
+    private static class CourseDemand {
+        private final long[] stamps = new long[BUCKETS];
+        private final long[] enrolled = new long[BUCKETS];
+        private final long[] dropped = new long[BUCKETS];
+
+        synchronized void record(long minute, boolean enroll) {
+            int slot = (int) (minute % BUCKETS);
+            if (stamps[slot] != minute) {
+                stamps[slot] = minute;
+                enrolled[slot] = 0;
+                dropped[slot] = 0;
+            }
+            if (enroll) {
+                enrolled[slot]++;
+            } else {
+                dropped[slot]++;
+            }
+        }
+
+        // sums of the last `minutes` minutes, the current one included
+        synchronized long enrolled(long minute, int minutes) {
+            return sum(enrolled, minute, minutes);
+        }
+
+        synchronized long dropped(long minute, int minutes) {
+            return sum(dropped, minute, minutes);
+        }
+
+        private long sum(long[] counts, long minute, int minutes) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (stamps[i] > minute - minutes && stamps[i] <= minute) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+    }
+
+    // what the ranking looks at, computed once per course per refresh
+    private record Rate(Long courseId, long last5, long last15, long lastHour, long droppedLastHour, long net15) {
+    }
+
+    private static final Comparator<Rate> FASTEST_FIRST = Comparator.comparingLong(Rate::net15)
+        .thenComparingLong(Rate::last5).reversed()
+        .thenComparing(Rate::courseId);
+
+    public DemandTracker(CourseRepository courseRepo, CourseSeatsRepository courseSeatsRepo,
+            @Value("${enrollment.demand.top-k:50}") int topK) {
+        this.courseRepo = courseRepo;
+        this.courseSeatsRepo = courseSeatsRepo;
+        this.topK = topK;
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / BUCKET_MILLIS;
+    }
+
+    // a new active enrollment counts as demand, dropping or deleting an active one as a drop
+    // moving an enrollment to another course is a drop on the old course and an enrollment on the new one
+    // completing a course is neither
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        Snapshot before = event.before();
+        Snapshot after = event.after();
+        boolean moved = before != null && after != null && !before.courseId().equals(after.courseId());
+        long minute = currentMinute();
+        if (isActive(before) && (after == null || after.status() == CourseStatus.Dropped || moved)) {
+            demand.computeIfAbsent(before.courseId(), id -> new CourseDemand()).record(minute, false);
+        }
+        if (isActive(after) && (before == null || !isActive(before) || moved)) {
+            demand.computeIfAbsent(after.courseId(), id -> new CourseDemand()).record(minute, true);
+        }
+    }
+
+    private static boolean isActive(Snapshot snapshot) {
+        return snapshot != null && snapshot.status() != CourseStatus.Dropped && snapshot.status() != CourseStatus.Completed;
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.demand.refresh-ms:5000}")
+    public void refresh() {
+        long minute = currentMinute();
+        // a min-heap of the best K so far, the weakest one is at the head
+        PriorityQueue<Rate> top = new PriorityQueue<>(FASTEST_FIRST.reversed());
+        demand.forEach((courseId, course) -> {
+            long lastHour = course.enrolled(minute, BUCKETS);
+            long droppedLastHour = course.dropped(minute, BUCKETS);
+            if (lastHour == 0 && droppedLastHour == 0) {
+                // nothing happened for an hour, the ring would be all stale
+                demand.remove(courseId, course);
+                return;
+            }
+            long last15 = course.enrolled(minute, 15);
+            Rate rate = new Rate(courseId, course.enrolled(minute, 5), last15, lastHour, droppedLastHour,
+                last15 - course.dropped(minute, 15));
+            top.add(rate);
+            if (top.size() > topK) {
+                top.poll();
+            }
+        });
+
+        List<Rate> ranked = new ArrayList<>(top);
+        ranked.sort(FASTEST_FIRST);
+        List<Long> ids = ranked.stream().map(Rate::courseId).collect(Collectors.toList());
+        Map<Long, Course> courses = courseRepo.findAllById(ids).stream()
+            .collect(Collectors.toMap(Course::getId, Function.identity()));
+        Map<Long, CourseSeats> seats = courseSeatsRepo.findAllById(ids).stream()
+            .collect(Collectors.toMap(CourseSeats::getCourseId, Function.identity()));
+
+        List<CourseDemandResponse> rows = new ArrayList<>(ranked.size());
+        for (Rate rate : ranked) {
+            Course course = courses.get(rate.courseId());
+            CourseSeats courseSeats = seats.get(rate.courseId());
+            rows.add(new CourseDemandResponse(rate.courseId(), course == null ? null : course.getName(),
+                rate.last5(), rate.last15(), rate.lastHour(), rate.droppedLastHour(), rate.net15() / 15.0,
+                courseSeats == null ? null : courseSeats.getTaken(), courseSeats == null ? null : courseSeats.getCapacity()));
+        }
+        leaderboard = new DemandLeaderboardResponse(LocalDateTime.now(), List.copyOf(rows));
+    }
+
+    // the last computed snapshot, at most `enrollment.demand.top-k` courses
+    public DemandLeaderboardResponse getLeaderboard(Integer limit) {
+        DemandLeaderboardResponse current = leaderboard;
+        if (limit == null || limit >= current.getCourses().size()) {
+            return current;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return new DemandLeaderboardResponse(current.getComputedAt(), current.getCourses().subList(0, limit));
+    }
+}
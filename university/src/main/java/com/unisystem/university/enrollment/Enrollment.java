@@ -13,12 +13,27 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id", "semester"}),
+    // keyset pages of a course roster or a student history, see EnrollmentRepositoryCustomImpl
+    indexes = {
+        @Index(name = "idx_enrollment_course_id", columnList = "course_id, id"),
+        @Index(name = "idx_enrollment_course_semester", columnList = "course_id, semester, id"),
+        @Index(name = "idx_enrollment_course_status", columnList = "course_id, status, id"),
+        @Index(name = "idx_enrollment_student_id", columnList = "student_id, id"),
+        @Index(name = "idx_enrollment_student_semester", columnList = "student_id, semester, id"),
+        @Index(name = "idx_enrollment_student_status", columnList = "student_id, status, id"),
+        // chunks of the semester close-out, see SemesterCloseoutService
+        @Index(name = "idx_enrollment_semester_status", columnList = "semester, status, id")
+    })
 @Data
 @NoArgsConstructor
 public class Enrollment {
@@ -0,0 +1,66 @@
+package com.unisystem.university.enrollment;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+// plain JDBC writes for bulk operations
+// Enrollment ids are IDENTITY generated so hibernate can't batch its inserts
+@Repository
+public class EnrollmentBatchRepository {
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public EnrollmentBatchRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    // sets the generated id on every enrollment, so the events and the journal carry the real ids
+    public void insertAll(List<Enrollment> enrollments) {
+        for (int from = 0; from < enrollments.size(); from += BATCH_SIZE) {
+            List<Enrollment> chunk = enrollments.subList(from, Math.min(from + BATCH_SIZE, enrollments.size()));
+            SqlParameterSource[] rows = chunk.stream().map(enroll -> new MapSqlParameterSource()
+                .addValue("studentId", enroll.getStudent().getId())
+                .addValue("courseId", enroll.getCourse().getId())
+                .addValue("semester", enroll.getSemester())
+                .addValue("status", enroll.getStatus().name())
+                .addValue("enrollmentDate", enroll.getEnrollmentDate()))
+                .toArray(SqlParameterSource[]::new);
+            KeyHolder keys = new GeneratedKeyHolder();
+            namedJdbcTemplate.batchUpdate(
+                "insert into enrollment (student_id, course_id, semester, status, enrollment_date) " + 
+                "values (:studentId, :courseId, :semester, :status, :enrollmentDate)",
+                rows, keys, new String[] {"id"});
+
+            // one key per row in insert order, mysql names the column GENERATED_KEY so it's read by position
+            List<Map<String, Object>> keyList = keys.getKeyList();
+            if (keyList.size() != chunk.size()) {
+                throw new IllegalStateException("expected " + chunk.size() + " generated enrollment ids, got " + keyList.size());
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).setId(((Number) keyList.get(i).values().iterator().next()).longValue());
+            }
+        }
+    }
+
+    // sets the grade and marks the enrollment completed, snapshots carry the enrollment id and the new grade
+    public void updateGrades(List<EnrollmentChangedEvent.Snapshot> graded) {
+        jdbcTemplate.batchUpdate(
+            "update enrollment set grade = ?, status = ? where id = ?",
+            graded, BATCH_SIZE, (ps, enroll) -> {
+                ps.setString(1, enroll.grade().name());
+                ps.setString(2, enroll.status().name());
+                ps.setLong(3, enroll.id());
+            });
+    }
+}
@@ -0,0 +1,28 @@
+package com.unisystem.university.enrollment;
+
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.Grade;
+
+// published by EnrollmentService after every insert, update and delete of an enrollment
+// before is null for inserts and after is null for deletes
+public record EnrollmentChangedEvent(Snapshot before, Snapshot after) {
+
+    public record Snapshot(Long id, Long studentId, Long courseId, Integer semester, CourseStatus status, Grade grade) {
+        public static Snapshot of(Enrollment enroll) {
+            return new Snapshot(enroll.getId(), enroll.getStudent().getId(), enroll.getCourse().getId(),
+                enroll.getSemester(), enroll.getStatus(), enroll.getGrade());
+        }
+    }
+
+    public static EnrollmentChangedEvent created(Enrollment enroll) {
+        return new EnrollmentChangedEvent(null, Snapshot.of(enroll));
+    }
+
+    public static EnrollmentChangedEvent updated(Snapshot before, Enrollment enroll) {
+        return new EnrollmentChangedEvent(before, Snapshot.of(enroll));
+    }
+
+    public static EnrollmentChangedEvent deleted(Enrollment enroll) {
+        return new EnrollmentChangedEvent(Snapshot.of(enroll), null);
+    }
+}
@@ -1,9 +1,16 @@
 package com.unisystem.university.enrollment;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,19 +19,37 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.CourseCatalog;
 import com.unisystem.university.courses.CourseService;
+import com.unisystem.university.enrollment.DTOS.CloseoutRequest;
+import com.unisystem.university.enrollment.DTOS.CloseoutRunResponse;
+import com.unisystem.university.enrollment.DTOS.DemandLeaderboardResponse;
+import com.unisystem.university.enrollment.DTOS.EnrollmentBatchResult;
 import com.unisystem.university.enrollment.DTOS.EnrollmentChangeGradeReq;
 import com.unisystem.university.enrollment.DTOS.EnrollmentChangeStatusReq;
 import com.unisystem.university.enrollment.DTOS.EnrollmentEditRequest;
+import com.unisystem.university.enrollment.DTOS.EnrollmentPage;
 import com.unisystem.university.enrollment.DTOS.EnrollmentRequest;
 import com.unisystem.university.enrollment.DTOS.EnrollmentResponse;
+import com.unisystem.university.enrollment.DTOS.EnrollmentSubmissionResponse;
 import com.unisystem.university.enrollment.DTOS.GradeChangeReq;
+import com.unisystem.university.enrollment.DTOS.GradeUploadResult;
+import com.unisystem.university.enrollment.DTOS.GradeUploadRow;
+import com.unisystem.university.enrollment.DTOS.ScheduleOptionsResponse;
 import com.unisystem.university.enrollment.DTOS.StatusChangeReq;
 import com.unisystem.university.enrollment.DTOS.StudentEnrollmentsResponse;
+import com.unisystem.university.enrollment.DTOS.WaitlistPositionResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.EnrollmentSortKey;
+import com.unisystem.university.enrollment.Types.ExportFormat;
+import com.unisystem.university.enrollment.Types.Grade;
 import com.unisystem.university.users.User;
 import com.unisystem.university.users.UserService;
 
@@ -33,32 +58,104 @@ import jakarta.persistence.EntityNotFoundException;
 @RestController
 @RequestMapping("/api/enrollments")
 public class EnrollmentController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+
     private final EnrollmentService enrollmentService;
     private final UserService userService;
     private final CourseService courseService;
+    private final WaitlistService waitlistService;
+    private final EnrollmentExporter enrollmentExporter;
+    private final SemesterCloseoutService semesterCloseoutService;
+    private final IdempotencyStore idempotencyStore;
+    private final ScheduleSolver scheduleSolver;
+    private final EnrollmentSubmissions enrollmentSubmissions;
+    private final DemandTracker demandTracker;
+    private final CourseCatalog courseCatalog;
 
     public EnrollmentController(EnrollmentService enrollmentService, UserService userService,
-                        CourseService courseService) {
+                        CourseService courseService, WaitlistService waitlistService, 
+                        EnrollmentExporter enrollmentExporter, SemesterCloseoutService semesterCloseoutService,
+                        IdempotencyStore idempotencyStore, ScheduleSolver scheduleSolver, 
+                        EnrollmentSubmissions enrollmentSubmissions, DemandTracker demandTracker, 
+                        CourseCatalog courseCatalog) {
         this.enrollmentService = enrollmentService;
         this.userService = userService;
         this.courseService = courseService;
+        this.waitlistService = waitlistService;
+        this.enrollmentExporter = enrollmentExporter;
+        this.semesterCloseoutService = semesterCloseoutService;
+        this.idempotencyStore = idempotencyStore;
+        this.scheduleSolver = scheduleSolver;
+        this.enrollmentSubmissions = enrollmentSubmissions;
+        this.demandTracker = demandTracker;
+        this.courseCatalog = courseCatalog;
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<StudentEnrollmentsResponse>> getStudentEnrollments(@PathVariable Long studentId) {
+    public ResponseEntity<List<StudentEnrollmentsResponse>> getStudentEnrollments(@PathVariable Long studentId,
+            @RequestParam(defaultValue = "id") EnrollmentSortKey sort, @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit, @RequestParam(required = false) CourseStatus status,
+            @RequestParam(required = false) Grade grade) {
         User student = userService.getStudent(studentId);
         
-        List<Enrollment> enrollments = enrollmentService.getStudentEnrollments(student);
-        return ResponseEntity.ok(enrollments.stream().map(StudentEnrollmentsResponse::new).collect(Collectors.toList()));
+        return pageResponse(enrollmentService.getStudentEnrollmentPage(student, sort, after, status, grade, limit));
     }
 
     @GetMapping("/course/{courseId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
-    public ResponseEntity<List<EnrollmentResponse>> getCourseEnrollments(@PathVariable Long courseId) {
+    public ResponseEntity<List<EnrollmentResponse>> getCourseEnrollments(@PathVariable Long courseId,
+            @RequestParam(defaultValue = "id") EnrollmentSortKey sort, @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit, @RequestParam(required = false) CourseStatus status,
+            @RequestParam(required = false) Grade grade) {
         Course course = courseService.getCourseById(courseId);
         
-        List<Enrollment> enrollments = enrollmentService.getCourseEnrollments(course);
-        return ResponseEntity.ok(enrollments.stream().map(EnrollmentResponse::new).collect(Collectors.toList()));
+        return pageResponse(enrollmentService.getCourseEnrollmentPage(course, sort, after, status, grade, limit));
+    }
+
+    // conflict-free combinations of the wished courses the student could register together, nothing is written
+    @GetMapping("/student/{studentId}/schedule-options")
+    public ResponseEntity<ScheduleOptionsResponse> getScheduleOptions(@PathVariable Long studentId, 
+            @RequestParam List<Long> courseIds, @RequestParam(required = false) Integer limit) {
+        User student = userService.getStudent(studentId);
+
+        return ResponseEntity.ok(scheduleSolver.solve(student, courseIds, limit));
+    }
+
+    // whole enrollment table export, streamed row by row: /export?format=csv&courseId=&semester=&status=
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(
+            @RequestParam(defaultValue = "csv") ExportFormat format, @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) Integer semester, @RequestParam(required = false) CourseStatus status) {
+        return exportResponse(format, "enrollments", courseId, semester, status);
+    }
+
+    @GetMapping("/course/{courseId}/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
+    public ResponseEntity<StreamingResponseBody> exportCourseRoster(@PathVariable Long courseId,
+            @RequestParam(defaultValue = "csv") ExportFormat format, @RequestParam(required = false) Integer semester, 
+            @RequestParam(required = false) CourseStatus status) {
+        courseService.getCourseById(courseId);
+        return exportResponse(format, "course-" + courseId + "-roster", courseId, semester, status);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(ExportFormat format, String fileName, 
+            Long courseId, Integer semester, CourseStatus status) {
+        StreamingResponseBody body = out -> enrollmentExporter.export(format, courseId, semester, status, out);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "." + format + "\"")
+            .contentType(format == ExportFormat.csv ? CSV : NDJSON)
+            .body(body);
+    }
+
+    // the body stays a plain array, the cursor of the next page (if any) goes in the X-Next-Cursor header
+    private <T> ResponseEntity<List<T>> pageResponse(EnrollmentPage<T> page) {
+        if (page.getNextCursor() == null) {
+            return ResponseEntity.ok(page.getItems());
+        }
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, page.getNextCursor()).body(page.getItems());
     }
 
     @GetMapping("/{enrollmentId}")
@@ -82,59 +179,193 @@ public class EnrollmentController {
 
     @PutMapping("/statusChangeEnrollmentStatusByStudentAndCourseId")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Void> changeEnrollmentStatusByStudentAndCourseId(@RequestBody EnrollmentChangeStatusReq req) {
-        User student = userService.getStudent(req.getStudentId());
-        
-        Course course = courseService.getCourseById(req.getCourseId());
-        
-        enrollmentService.changeEnrollmentStatus(student, course, req.getStatus());
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Void> changeEnrollmentStatusByStudentAndCourseId(@RequestBody EnrollmentChangeStatusReq req,
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "statusByStudentAndCourse", req, () -> {
+            User student = userService.getStudent(req.getStudentId());
+            
+            Course course = courseService.getCourseById(req.getCourseId());
+            
+            enrollmentService.changeEnrollmentStatus(student, course, req.getStatus());
+            return ResponseEntity.ok().build();
+        });
     }
 
     @PutMapping("/status")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Void> changeEnrollmentStatus(@RequestBody StatusChangeReq req) {
-        enrollmentService.setStatus(req.getEnrollId(), req.getStatus());
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Void> changeEnrollmentStatus(@RequestBody StatusChangeReq req, 
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "status", req, () -> {
+            enrollmentService.setStatus(req.getEnrollId(), req.getStatus());
+            return ResponseEntity.ok().build();
+        });
     }
 
     @PutMapping("/gradeByStudentAndCourseId")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
-    public ResponseEntity<Void> setGradeByStudentAndCourseId(@RequestBody EnrollmentChangeGradeReq req) {
-        User student = userService.getStudent(req.getStudentId());
-        
-        Course course = courseService.getCourseById(req.getCourseId());
-        
-        enrollmentService.setGrade(student, course, req.getGrade());
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Void> setGradeByStudentAndCourseId(@RequestBody EnrollmentChangeGradeReq req,
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "gradeByStudentAndCourse", req, () -> {
+            User student = userService.getStudent(req.getStudentId());
+            
+            Course course = courseService.getCourseById(req.getCourseId());
+            
+            enrollmentService.setGrade(student, course, req.getGrade());
+            return ResponseEntity.ok().build();
+        });
     }
 
     @PutMapping("/grade")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
-    public ResponseEntity<Void> setGrade(@RequestBody GradeChangeReq req) {
-        enrollmentService.setGrade(req.getEnrollId(), req.getGrade());
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Void> setGrade(@RequestBody GradeChangeReq req, 
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "grade", req, () -> {
+            enrollmentService.setGrade(req.getEnrollId(), req.getGrade());
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    // bulk grading of a course as a json array of rows
+    @PutMapping(value = "/course/{courseId}/grades", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
+    public ResponseEntity<List<GradeUploadResult>> setGrades(@PathVariable Long courseId, 
+            @RequestBody List<GradeUploadRow> rows, 
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "grades:" + courseId, rows, () -> {
+            Course course = courseService.getCourseById(courseId);
+
+            return ResponseEntity.ok(enrollmentService.setGrades(course, rows));
+        });
+    }
+
+    // same upload as a csv file: enrollmentId,studentId,semester,grade
+    @PutMapping(value = "/course/{courseId}/grades", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
+    public ResponseEntity<List<GradeUploadResult>> setGradesFromCsv(@PathVariable Long courseId, 
+            @RequestBody String csv, 
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "grades:" + courseId, csv, () -> {
+            Course course = courseService.getCourseById(courseId);
+
+            return ResponseEntity.ok(enrollmentService.setGrades(course, GradeUploadRow.fromCsv(csv)));
+        });
+    }
+
+    // starts a semester close-out in the background, poll the returned run for progress
+    @PostMapping("/closeout")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<CloseoutRunResponse> startCloseout(@RequestBody CloseoutRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new CloseoutRunResponse(semesterCloseoutService.start(request)));
+    }
+
+    @PostMapping("/closeout/{runId}/resume")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<CloseoutRunResponse> resumeCloseout(@PathVariable Long runId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new CloseoutRunResponse(semesterCloseoutService.resume(runId)));
+    }
+
+    @GetMapping("/closeout/{runId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<CloseoutRunResponse> getCloseout(@PathVariable Long runId) {
+        return ResponseEntity.ok(new CloseoutRunResponse(semesterCloseoutService.getRun(runId)));
+    }
+
+    @GetMapping("/closeout")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<CloseoutRunResponse>> getCloseouts(@RequestParam Integer semester) {
+        return ResponseEntity.ok(semesterCloseoutService.getRuns(semester).stream()
+            .map(CloseoutRunResponse::new).collect(Collectors.toList()));
     }
 
+    // clients retrying a timed out registration should resend the same Idempotency-Key
     @PostMapping
-    public ResponseEntity<EnrollmentResponse> createEnrollment(@RequestBody EnrollmentRequest request) {
-        User student = userService.getStudent(request.getStudentId());
-        
-        Course course = courseService.getCourseById(request.getCourseId());
-        
-        Enrollment enrollment = enrollmentService.makeEnrollment(student, course, request.getSemester());
-        return ResponseEntity.status(HttpStatus.CREATED).body(new EnrollmentResponse(enrollment));
+    public ResponseEntity<EnrollmentResponse> createEnrollment(@RequestBody EnrollmentRequest request, 
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "enroll", request, () -> {
+            User student = userService.getStudent(request.getStudentId());
+            
+            Course course = courseService.getCourseById(request.getCourseId());
+            
+            Enrollment enrollment = enrollmentService.makeEnrollment(student, course, request.getSemester());
+            return ResponseEntity.status(HttpStatus.CREATED).body(new EnrollmentResponse(enrollment));
+        });
+    }
+
+    // same registration as POST /api/enrollments but queued, poll the returned submission for the outcome
+    @PostMapping("/async")
+    public ResponseEntity<EnrollmentSubmissionResponse> submitEnrollment(@RequestBody EnrollmentRequest request, 
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "enrollAsync", request, () -> {
+            EnrollmentSubmissionResponse submission = enrollmentSubmissions.submit(request);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/enrollments/submissions/" + submission.getId()))
+                .body(submission);
+        });
+    }
+
+    @GetMapping("/submissions/{submissionId}")
+    public ResponseEntity<EnrollmentSubmissionResponse> getSubmission(@PathVariable String submissionId) {
+        try {
+            return ResponseEntity.ok(enrollmentSubmissions.getSubmission(submissionId));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<EnrollmentBatchResult>> createEnrollments(@RequestBody List<EnrollmentRequest> requests, 
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "enrollBatch", requests, () -> enrollBatch(requests));
+    }
+
+    private ResponseEntity<List<EnrollmentBatchResult>> enrollBatch(List<EnrollmentRequest> requests) {
+        Set<Long> studentIds = requests.stream().map(EnrollmentRequest::getStudentId)
+            .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> courseIds = requests.stream().map(EnrollmentRequest::getCourseId)
+            .filter(Objects::nonNull).collect(Collectors.toSet());
+
+        Map<Long, User> students = userService.getStudentsByIds(studentIds);
+        Map<Long, Course> courses = courseService.getCoursesByIds(courseIds);
+
+        return ResponseEntity.ok(enrollmentService.makeEnrollments(requests, students, courses));
     }
 
     @PostMapping("/after-due")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<EnrollmentResponse> createEnrollmentAfterDueDate(@RequestBody EnrollmentRequest request) {
+    public ResponseEntity<EnrollmentResponse> createEnrollmentAfterDueDate(@RequestBody EnrollmentRequest request, 
+            @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, "enrollAfterDue", request, () -> {
+            User student = userService.getStudent(request.getStudentId());
+            
+            Course course = courseService.getCourseById(request.getCourseId());
+            
+            Enrollment enrollment = enrollmentService.makeEnrollmentAfterDueDate(student, course, request.getSemester());
+            return ResponseEntity.status(HttpStatus.CREATED).body(new EnrollmentResponse(enrollment));
+        });
+    }
+
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistPositionResponse> joinWaitlist(@RequestBody EnrollmentRequest request) {
         User student = userService.getStudent(request.getStudentId());
         
         Course course = courseService.getCourseById(request.getCourseId());
-        
-        Enrollment enrollment = enrollmentService.makeEnrollmentAfterDueDate(student, course, request.getSemester());
-        return ResponseEntity.status(HttpStatus.CREATED).body(new EnrollmentResponse(enrollment));
+
+        WaitlistPositionResponse position = waitlistService.join(student, course, request.getSemester());
+        return ResponseEntity.status(HttpStatus.CREATED).body(position);
+    }
+
+    @GetMapping("/waitlist/{courseId}/students/{studentId}")
+    public ResponseEntity<WaitlistPositionResponse> getWaitlistPosition(@PathVariable Long courseId, 
+            @PathVariable Long studentId, @RequestParam Integer semester) {
+        return ResponseEntity.ok(waitlistService.getPosition(courseId, studentId, semester));
+    }
+
+    @DeleteMapping("/waitlist/{courseId}/students/{studentId}")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long courseId, @PathVariable Long studentId,
+            @RequestParam Integer semester) {
+        waitlistService.leave(courseId, studentId, semester);
+        return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{enrollmentId}")
@@ -160,10 +391,30 @@ public class EnrollmentController {
     }
 
     @GetMapping("/{courseId}/count")
-    public Long getEnrolledStudentCount(@PathVariable Long courseId) {
-        Course course = courseService.getCourseById(courseId);
+    public ResponseEntity<Long> getEnrolledStudentCount(@PathVariable Long courseId, 
+            @RequestParam(required = false) Integer semester, @RequestParam(required = false) CourseStatus status) {
+        // the counters don't know which courses exist, the catalog answers that from memory
+        if (courseCatalog.get(courseId).isEmpty()) {
+            try {
+                courseService.getCourseById(courseId);
+            } catch (EntityNotFoundException e) {
+                return ResponseEntity.notFound().build();
+            }
+        }
+        return ResponseEntity.ok(enrollmentService.countCourseEnrollments(courseId, semester, status));
+    }
+
+    // courses filling fastest right now, served from memory and refreshed every few seconds
+    @GetMapping("/demand")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
+    public ResponseEntity<DemandLeaderboardResponse> getDemandLeaderboard(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(demandTracker.getLeaderboard(limit));
+    }
 
-        return enrollmentService.cousreEnrollments(course);
+    // counts for a whole page of course cards in one request: /counts?courseIds=1,2,3
+    @GetMapping("/counts")
+    public Map<Long, Long> getEnrolledStudentCounts(@RequestParam Set<Long> courseIds) {
+        return enrollmentService.countCoursesEnrollments(courseIds);
     }
 
 }
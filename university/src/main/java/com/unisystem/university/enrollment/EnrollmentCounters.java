@@ -0,0 +1,144 @@
+package com.unisystem.university.enrollment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.unisystem.university.enrollment.Types.CourseStatus;
+
+// enrollment counts per course and per (course, semester, status) served from memory
+// kept up to date from EnrollmentChangedEvent and reconciled against the database periodically
+// changes that arrive while a reconcile loads are buffered and replayed on the new counts before they replace the old ones
+@Component
+public class EnrollmentCounters {
+    private final EnrollmentRepository enrollmentRepo;
+    private volatile Counts counts;
+
+    private final Object changes = new Object();
+    private List<EnrollmentChangedEvent> pending; // not null while a reconcile is loading, guarded by changes
+
+    private record SemesterStatus(Integer semester, CourseStatus status) {
+    }
+
+    // one course's total and its split by (semester, status), a filtered count only walks this course's keys
+    private static class CourseCounts {
+        private final LongAdder total = new LongAdder();
+        private final Map<SemesterStatus, LongAdder> bySemesterStatus = new ConcurrentHashMap<>();
+    }
+
+    private static class Counts {
+        private final Map<Long, CourseCounts> byCourse = new ConcurrentHashMap<>();
+
+        void add(Long courseId, Integer semester, CourseStatus status, long delta) {
+            CourseCounts course = byCourse.computeIfAbsent(courseId, id -> new CourseCounts());
+            course.total.add(delta);
+            course.bySemesterStatus.computeIfAbsent(new SemesterStatus(semester, status), key -> new LongAdder()).add(delta);
+        }
+
+        void apply(EnrollmentChangedEvent event) {
+            if (event.before() != null) {
+                add(event.before().courseId(), event.before().semester(), event.before().status(), -1);
+            }
+            if (event.after() != null) {
+                add(event.after().courseId(), event.after().semester(), event.after().status(), 1);
+            }
+        }
+    }
+
+    public EnrollmentCounters(EnrollmentRepository enrollmentRepo) {
+        this.enrollmentRepo = enrollmentRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${enrollment.counters.reconcile-ms:300000}",
+        initialDelayString = "${enrollment.counters.reconcile-ms:300000}")
+    public synchronized void reconcile() {
+        synchronized (changes) {
+            pending = new ArrayList<>();
+        }
+        Counts fresh = new Counts();
+        try {
+            for (Object[] row : enrollmentRepo.countGroupedByCourseSemesterAndStatus()) {
+                fresh.add((Long) row[0], (Integer) row[1], (CourseStatus) row[2], (Long) row[3]);
+            }
+            synchronized (changes) {
+                pending.forEach(fresh::apply);
+                counts = fresh;
+            }
+        } finally {
+            synchronized (changes) {
+                pending = null;
+            }
+        }
+    }
+
+    private Counts counts() {
+        Counts current = counts;
+        if (current == null) {
+            synchronized (this) {
+                if (counts == null) {
+                    reconcile();
+                }
+                current = counts;
+            }
+        }
+        return current;
+    }
+
+    // after commit so rolled back batches are never counted
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        counts();
+        synchronized (changes) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            counts.apply(event);
+        }
+    }
+
+    public long countByCourse(Long courseId) {
+        CourseCounts course = counts().byCourse.get(courseId);
+        return course == null ? 0 : course.total.sum();
+    }
+
+    public long countByCourse(Long courseId, Integer semester, CourseStatus status) {
+        if (semester == null && status == null) {
+            return countByCourse(courseId);
+        }
+        CourseCounts course = counts().byCourse.get(courseId);
+        if (course == null) {
+            return 0;
+        }
+        if (semester != null && status != null) {
+            LongAdder count = course.bySemesterStatus.get(new SemesterStatus(semester, status));
+            return count == null ? 0 : count.sum();
+        }
+        long total = 0;
+        for (Map.Entry<SemesterStatus, LongAdder> entry : course.bySemesterStatus.entrySet()) {
+            SemesterStatus key = entry.getKey();
+            if ((semester == null || semester.equals(key.semester())) && (status == null || status == key.status())) {
+                total += entry.getValue().sum();
+            }
+        }
+        return total;
+    }
+
+    public Map<Long, Long> countByCourses(Collection<Long> courseIds) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Long courseId : courseIds) {
+            result.put(courseId, countByCourse(courseId));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+package com.unisystem.university.enrollment;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unisystem.university.enrollment.DTOS.EnrollmentResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.ExportFormat;
+
+// writes enrollment rows to the response while they are read from the database cursor
+// nothing but the current row is kept in memory, so the heap use doesn't depend on the export size
+@Component
+public class EnrollmentExporter {
+    private static final String CSV_HEADER = "id,studentId,studentName,courseId,courseName,enrollmentDate,grade,semester,status";
+
+    private final EnrollmentRepository enrollmentRepo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public EnrollmentExporter(EnrollmentRepository enrollmentRepo, ObjectMapper objectMapper, 
+            PlatformTransactionManager transactionManager) {
+        this.enrollmentRepo = enrollmentRepo;
+        this.objectMapper = objectMapper;
+        // the stream needs its connection open until the last row is written
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void export(ExportFormat format, Long courseId, Integer semester, CourseStatus status, OutputStream out) 
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            readOnlyTransaction.executeWithoutResult(tx -> {
+                try (Stream<EnrollmentResponse> rows = enrollmentRepo.streamEnrollmentRows(courseId, semester, status)) {
+                    if (format == ExportFormat.csv) {
+                        writeLine(writer, CSV_HEADER);
+                    }
+                    rows.forEach(row -> writeLine(writer, format == ExportFormat.csv ? toCsv(row) : toJson(row)));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // mostly the client went away in the middle of the export
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toJson(EnrollmentResponse row) {
+        try {
+            return objectMapper.writeValueAsString(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsv(EnrollmentResponse row) {
+        return String.join(",", 
+            csv(row.getId()), csv(row.getStudentId()), csv(row.getStudentName()), 
+            csv(row.getCourseId()), csv(row.getCourseName()), csv(row.getEnrollmentDate()),
+            csv(row.getGrade()), csv(row.getSemester()), csv(row.getStatus()));
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -1,20 +1,74 @@
 package com.unisystem.university.enrollment;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
 import com.unisystem.university.courses.Course;
+import com.unisystem.university.enrollment.DTOS.EnrollmentResponse;
+import com.unisystem.university.enrollment.DTOS.StudentEnrollmentsResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
 import com.unisystem.university.users.User;
 
+import jakarta.persistence.QueryHint;
+
 
 
 @Repository
-public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>{
-    List<Enrollment> findByCourse(Course course);
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>, EnrollmentRepositoryCustom{
+    int EXPORT_FETCH_SIZE = 1000;
+
     List<Enrollment> findByStudent(User student);
+    List<Enrollment> findByStudentIn(Collection<User> students);
     Optional<Enrollment> findByStudentAndCourse(User student, Course course);
     boolean existsByStudentAndCourseAndSemester(User student, Course course, Integer semester);
-    Long countByCourse(Course course);
+
+    // forward only cursor over the export rows, with useCursorFetch=true on the connection url
+    // the MySQL driver reads the result EXPORT_FETCH_SIZE rows at a time instead of buffering all of it
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.unisystem.university.enrollment.DTOS.EnrollmentResponse(" +
+        "e.id, s.id, s.name, c.id, c.name, e.enrollmentDate, e.grade, e.semester, e.status) " +
+        "from Enrollment e join e.student s join e.course c " +
+        "where (:courseId is null or c.id = :courseId) and (:semester is null or e.semester = :semester) " +
+        "and (:status is null or e.status = :status) order by e.id")
+    Stream<EnrollmentResponse> streamEnrollmentRows(@Param("courseId") Long courseId, @Param("semester") Integer semester, 
+        @Param("status") CourseStatus status);
+
+    // (enrollment id, student id, semester, status, grade) of the enrollments a grade upload points at
+    // by enrollment id or by student id, the id lists must not be empty
+    @Query("select e.id, e.student.id, e.semester, e.status, e.grade from Enrollment e " +
+        "where e.course.id = :courseId and e.id in :enrollmentIds")
+    List<Object[]> findGradeTargetsById(@Param("courseId") Long courseId,
+        @Param("enrollmentIds") Collection<Long> enrollmentIds);
+
+    @Query("select e.id, e.student.id, e.semester, e.status, e.grade from Enrollment e " +
+        "where e.course.id = :courseId and e.student.id in :studentIds")
+    List<Object[]> findGradeTargetsByStudent(@Param("courseId") Long courseId,
+        @Param("studentIds") Collection<Long> studentIds);
+
+    // every enrollment of a student with its course name, one query for the transcript
+    @Query("select new com.unisystem.university.enrollment.DTOS.StudentEnrollmentsResponse(" +
+        "e.id, c.id, c.name, e.enrollmentDate, e.grade, e.semester, e.status) " +
+        "from Enrollment e join e.course c where e.student.id = :studentId order by e.semester, e.id")
+    List<StudentEnrollmentsResponse> findTranscriptRows(@Param("studentId") Long studentId);
+
+    // (course id, semester, status, count) rows used to rebuild the in-memory counters
+    @Query("select e.course.id, e.semester, e.status, count(e) from Enrollment e group by e.course.id, e.semester, e.status")
+    List<Object[]> countGroupedByCourseSemesterAndStatus();
+
+    // (student id, semester, grade, count) rows of the graded enrollments that count towards the GPA
+    @Query("select e.student.id, e.semester, e.grade, count(e) from Enrollment e " +
+        "where e.grade is not null and (e.status is null or e.status <> :excluded) group by e.student.id, e.semester, e.grade")
+    List<Object[]> countGradedGroupedByStudentSemesterAndGrade(@Param("excluded") CourseStatus excluded);
 }
@@ -0,0 +1,19 @@
+package com.unisystem.university.enrollment;
+
+import java.util.List;
+
+import com.unisystem.university.enrollment.DTOS.EnrollmentResponse;
+import com.unisystem.university.enrollment.DTOS.StudentEnrollmentsResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.EnrollmentSortKey;
+import com.unisystem.university.enrollment.Types.Grade;
+import com.unisystem.university.paging.KeysetCursor;
+
+// keyset paged enrollment lists, after is null for the first page and status / grade are optional filters
+public interface EnrollmentRepositoryCustom {
+    List<StudentEnrollmentsResponse> findStudentEnrollmentPage(Long studentId, EnrollmentSortKey sort, 
+        KeysetCursor<EnrollmentSortKey> after, CourseStatus status, Grade grade, int limit);
+
+    List<EnrollmentResponse> findCourseEnrollmentPage(Long courseId, EnrollmentSortKey sort, 
+        KeysetCursor<EnrollmentSortKey> after, CourseStatus status, Grade grade, int limit);
+}
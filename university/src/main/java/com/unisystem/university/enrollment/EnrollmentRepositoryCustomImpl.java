@@ -0,0 +1,84 @@
+package com.unisystem.university.enrollment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.enrollment.DTOS.EnrollmentResponse;
+import com.unisystem.university.enrollment.DTOS.StudentEnrollmentsResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.EnrollmentSortKey;
+import com.unisystem.university.enrollment.Types.Grade;
+import com.unisystem.university.paging.KeysetCursor;
+import com.unisystem.university.users.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+// the rows are selected straight into the response DTOs and the page is cut by the KeysetCursor,
+// so every page is a range scan on the (student_id | course_id, key, id) indexes of Enrollment
+public class EnrollmentRepositoryCustomImpl implements EnrollmentRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StudentEnrollmentsResponse> findStudentEnrollmentPage(Long studentId, EnrollmentSortKey sort, 
+            KeysetCursor<EnrollmentSortKey> after, CourseStatus status, Grade grade, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentEnrollmentsResponse> query = cb.createQuery(StudentEnrollmentsResponse.class);
+        Root<Enrollment> enroll = query.from(Enrollment.class);
+        Join<Enrollment, Course> course = enroll.join("course");
+
+        query.select(cb.construct(StudentEnrollmentsResponse.class, 
+            enroll.get("id"), course.get("id"), course.get("name"), enroll.get("enrollmentDate"),
+            enroll.get("grade"), enroll.get("semester"), enroll.get("status")));
+
+        List<Predicate> predicates = filters(cb, enroll, sort, after, status, grade);
+        predicates.add(cb.equal(enroll.get("student").get("id"), studentId));
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(KeysetCursor.orderBy(cb, enroll, sort));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<EnrollmentResponse> findCourseEnrollmentPage(Long courseId, EnrollmentSortKey sort, 
+            KeysetCursor<EnrollmentSortKey> after, CourseStatus status, Grade grade, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EnrollmentResponse> query = cb.createQuery(EnrollmentResponse.class);
+        Root<Enrollment> enroll = query.from(Enrollment.class);
+        Join<Enrollment, User> student = enroll.join("student");
+        Join<Enrollment, Course> course = enroll.join("course");
+
+        query.select(cb.construct(EnrollmentResponse.class, 
+            enroll.get("id"), student.get("id"), student.get("name"), course.get("id"), course.get("name"),
+            enroll.get("enrollmentDate"), enroll.get("grade"), enroll.get("semester"), enroll.get("status")));
+
+        List<Predicate> predicates = filters(cb, enroll, sort, after, status, grade);
+        predicates.add(cb.equal(course.get("id"), courseId));
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(KeysetCursor.orderBy(cb, enroll, sort));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private List<Predicate> filters(CriteriaBuilder cb, Root<Enrollment> enroll, EnrollmentSortKey sort, 
+            KeysetCursor<EnrollmentSortKey> after, CourseStatus status, Grade grade) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(cb.equal(enroll.get("status"), status));
+        }
+        if (grade != null) {
+            predicates.add(cb.equal(enroll.get("grade"), grade));
+        }
+        if (after != null) {
+            predicates.add(after.after(cb, enroll));
+        }
+        return predicates;
+    }
+}
@@ -1,38 +1,80 @@
 package com.unisystem.university.enrollment;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.SeatAllocator;
+import com.unisystem.university.enrollment.EnrollmentChangedEvent.Snapshot;
+import com.unisystem.university.enrollment.DTOS.EnrollmentBatchResult;
+import com.unisystem.university.enrollment.DTOS.EnrollmentPage;
+import com.unisystem.university.enrollment.DTOS.EnrollmentRequest;
+import com.unisystem.university.enrollment.DTOS.EnrollmentResponse;
+import com.unisystem.university.enrollment.DTOS.GradeUploadResult;
+import com.unisystem.university.enrollment.DTOS.GradeUploadRow;
+import com.unisystem.university.enrollment.DTOS.StudentEnrollmentsResponse;
 import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.EnrollmentSortKey;
 import com.unisystem.university.enrollment.Types.Grade;
-import com.unisystem.university.lectureTime.LectureTime;
+import com.unisystem.university.lectureTime.ScheduleIndex;
+import com.unisystem.university.lectureTime.WeeklySlots;
+import com.unisystem.university.paging.KeysetCursor;
 import com.unisystem.university.users.User;
 
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
 public class EnrollmentService {
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private EnrollmentRepository enrollmentRepo;
+    private EnrollmentBatchRepository enrollmentBatchRepo;
+    private ScheduleIndex scheduleIndex;
+    private SeatAllocator seatAllocator;
+    private EnrollmentCounters enrollmentCounters;
+    private ApplicationEventPublisher eventPublisher;
 
-    public EnrollmentService(EnrollmentRepository _EnrollmentRepository){
+    public EnrollmentService(EnrollmentRepository _EnrollmentRepository, EnrollmentBatchRepository _enrollmentBatchRepo,
+            ScheduleIndex _scheduleIndex, SeatAllocator _seatAllocator, EnrollmentCounters _enrollmentCounters,
+            ApplicationEventPublisher _eventPublisher){
         this.enrollmentRepo = _EnrollmentRepository;
+        this.enrollmentBatchRepo = _enrollmentBatchRepo;
+        this.scheduleIndex = _scheduleIndex;
+        this.seatAllocator = _seatAllocator;
+        this.enrollmentCounters = _enrollmentCounters;
+        this.eventPublisher = _eventPublisher;
     }
 
     // helper function used to check before adding new enroll
     public void isValidEnroll(User student, Course course){
+        isValidEnroll(course, getStudentEnrollments(student));
+    }
+
+    // same checks against an already loaded list of the student's enrollments
+    public void isValidEnroll(Course course, List<Enrollment> studentEnrollments){
         // check if the Course lectures time confilcts with another course lectures time
-        List<Enrollment> studentEnrollments = getStudentEnrollments(student);
         // course prerequisites
         Set<Course> coursePrerequisites = course.getPrerequisites();
         Set<Course> matchedCourses = new HashSet<>();
+        // the student's active timetable as one OR-ed weekly bitmap
+        WeeklySlots timetable = WeeklySlots.EMPTY;
         for(Enrollment studentEnroll : studentEnrollments){
             // helper check for course prerequisites
             if (coursePrerequisites.contains(studentEnroll.getCourse())) {
@@ -46,24 +88,17 @@ public class EnrollmentService {
             // check if the two courses in the same period or not before checking lecture time conflict
             // because if the two courses not in the same period there will be no problem to register it 
             // this is an extra check because if any unkonwn error happens in course Enrollment status
-            boolean overlaps = studentEnroll.getCourse().getStartDate().isBefore(course.getEndDate()) && 
-                            studentEnroll.getCourse().getEndDate().isAfter(course.getStartDate());
-            // check lectures time conflict for two courses in the same period 
-            if (overlaps) {
-                for (LectureTime lecTime : studentEnroll.getCourse().getLecturesTime()) {
-                    for(LectureTime courseLecTime: course.getLecturesTime()){
-                        if (lecTime.getDay() == courseLecTime.getDay() && lecTime.getTime() == courseLecTime.getTime()) {
-                            throw new RuntimeException("Can not Register two Courses at the same time. " +
-                                "course 1: " + course.getName() +
-                                " course 2: " + studentEnroll.getCourse().getName() + 
-                                " at time: " + courseLecTime.getTime() 
-                            );                        
-                        }
-                    }
-                }                
+            if (overlaps(studentEnroll.getCourse(), course)) {
+                timetable = timetable.or(scheduleIndex.slotsOf(studentEnroll.getCourse()));
             } 
         }
 
+        // check lectures time conflict for all the courses in the same period with a single AND
+        WeeklySlots courseSlots = scheduleIndex.slotsOf(course);
+        if (timetable.intersects(courseSlots)) {
+            throwTimeConflict(studentEnrollments, course, courseSlots);
+        }
+
         // check if the student finished all prerequisites
         if (matchedCourses.size() != coursePrerequisites.size()) {
             Set<Course> nonMatchedCourses = new HashSet<>();
@@ -82,13 +117,106 @@ public class EnrollmentService {
 
     }
 
+    private boolean overlaps(Course enrolledCourse, Course course){
+        return enrolledCourse.getStartDate().isBefore(course.getEndDate()) && 
+            enrolledCourse.getEndDate().isAfter(course.getStartDate());
+    }
+
+    // only runs on the failure path to find which enrolled course clashes for the error message
+    private void throwTimeConflict(List<Enrollment> studentEnrollments, Course course, WeeklySlots courseSlots){
+        for(Enrollment studentEnroll : studentEnrollments){
+            if (studentEnroll.getStatus() == CourseStatus.Completed || studentEnroll.getStatus() == CourseStatus.Dropped
+                    || !overlaps(studentEnroll.getCourse(), course)) {
+                continue;
+            }
+            int slot = scheduleIndex.slotsOf(studentEnroll.getCourse()).firstConflict(courseSlots);
+            if (slot >= 0) {
+                throw new RuntimeException("Can not Register two Courses at the same time. " +
+                    "course 1: " + course.getName() +
+                    " course 2: " + studentEnroll.getCourse().getName() + 
+                    " at time: " + WeeklySlots.dayOf(slot) + " " + WeeklySlots.timeOf(slot)
+                );
+            }
+        }
+    }
+
+    // every enrollment that is not dropped holds a seat of its course
+    private void updateSeats(Course course, CourseStatus oldStatus, CourseStatus newStatus){
+        boolean held = oldStatus != CourseStatus.Dropped;
+        boolean holds = newStatus != CourseStatus.Dropped;
+        if (held && !holds) {
+            seatAllocator.release(course.getId());
+        } else if (!held && holds) {
+            seatAllocator.forceReserve(course.getId());
+        }
+    }
+
+    private Enrollment saveNewEnrollment(Enrollment enroll){
+        try {
+            Enrollment saved = enrollmentRepo.save(enroll);
+            eventPublisher.publishEvent(EnrollmentChangedEvent.created(saved));
+            return saved;
+        } catch (RuntimeException e) {
+            seatAllocator.release(enroll.getCourse().getId());
+            // the unique (student, course, semester) key caught a concurrent duplicate
+            if (e instanceof DataIntegrityViolationException) {
+                throw new RuntimeException("Student '" + enroll.getStudent().getName() + 
+                    "' is already enrolled in course '" + enroll.getCourse().getName() + 
+                    "' for semester " + enroll.getSemester());
+            }
+            throw e;
+        }
+    }
+
     public List<Enrollment> getStudentEnrollments(User student){
         return enrollmentRepo.findByStudent(student);
     }
 
+    // keyset pages of DTO projections, at most limit rows are loaded per request
+    public EnrollmentPage<StudentEnrollmentsResponse> getStudentEnrollmentPage(User student, EnrollmentSortKey sort, 
+            String after, CourseStatus status, Grade grade, Integer limit){
+        int pageSize = pageSize(limit);
+        List<StudentEnrollmentsResponse> rows = enrollmentRepo.findStudentEnrollmentPage(student.getId(), sort, 
+            after == null ? null : KeysetCursor.decode(after, sort), status, grade, pageSize + 1);
+        return toPage(rows, pageSize, last -> cursorAfter(sort, last.getId(), last.getSemester(), last.getStatus()));
+    }
+
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
-    public List<Enrollment> getCourseEnrollments(Course course){
-        return enrollmentRepo.findByCourse(course);
+    public EnrollmentPage<EnrollmentResponse> getCourseEnrollmentPage(Course course, EnrollmentSortKey sort, 
+            String after, CourseStatus status, Grade grade, Integer limit){
+        int pageSize = pageSize(limit);
+        List<EnrollmentResponse> rows = enrollmentRepo.findCourseEnrollmentPage(course.getId(), sort, 
+            after == null ? null : KeysetCursor.decode(after, sort), status, grade, pageSize + 1);
+        return toPage(rows, pageSize, last -> cursorAfter(sort, last.getId(), last.getSemester(), last.getStatus()));
+    }
+
+    private int pageSize(Integer limit){
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    // one extra row is fetched to know if there is a next page
+    private <T> EnrollmentPage<T> toPage(List<T> rows, int pageSize, Function<T, KeysetCursor<EnrollmentSortKey>> cursorOf){
+        if (rows.size() <= pageSize) {
+            return new EnrollmentPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new EnrollmentPage<>(items, cursorOf.apply(items.get(pageSize - 1)).encode());
+    }
+
+    private static KeysetCursor<EnrollmentSortKey> cursorAfter(EnrollmentSortKey sort, Long id, Integer semester, 
+            CourseStatus status){
+        Object value = switch (sort) {
+            case id -> null;
+            case semester -> semester;
+            case status -> status;
+        };
+        return new KeysetCursor<>(sort, value, id);
     }
 
     public Enrollment getEnrollmentById(Long enrollmentId) throws EntityNotFoundException{
@@ -98,7 +226,11 @@ public class EnrollmentService {
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     public void deleteEntrollmentById(Long entrollmentId){
+        Optional<Enrollment> enroll = enrollmentRepo.findById(entrollmentId);
         enrollmentRepo.deleteById(entrollmentId);
+        enroll.ifPresent(deleted -> eventPublisher.publishEvent(EnrollmentChangedEvent.deleted(deleted)));
+        enroll.filter(deleted -> deleted.getStatus() != CourseStatus.Dropped)
+            .ifPresent(deleted -> seatAllocator.release(deleted.getCourse().getId()));
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
@@ -106,8 +238,11 @@ public class EnrollmentService {
         Optional<Enrollment> OptEnroll = enrollmentRepo.findByStudentAndCourse(student, course);
         if (OptEnroll.isPresent()) {
             Enrollment enroll = OptEnroll.get();
+            Snapshot before = Snapshot.of(enroll);
             enroll.setStatus(status);
             enrollmentRepo.save(enroll);
+            updateSeats(course, before.status(), status);
+            eventPublisher.publishEvent(EnrollmentChangedEvent.updated(before, enroll));
         }else{
             throw new EntityNotFoundException("can not find Enrollment with student id: " 
                 + student.getId() + " and course id: " + course.getId());
@@ -117,9 +252,12 @@ public class EnrollmentService {
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
     public void setStatus(Long enrollId, CourseStatus status){
         Enrollment enroll = getEnrollmentById(enrollId);
+        Snapshot before = Snapshot.of(enroll);
         
         enroll.setStatus(status);
         enrollmentRepo.save(enroll);
+        updateSeats(enroll.getCourse(), before.status(), status);
+        eventPublisher.publishEvent(EnrollmentChangedEvent.updated(before, enroll));
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
@@ -127,9 +265,12 @@ public class EnrollmentService {
         Optional<Enrollment> OptEnroll = enrollmentRepo.findByStudentAndCourse(student, course);
         if (OptEnroll.isPresent()) {
             Enrollment enroll = OptEnroll.get();
+            Snapshot before = Snapshot.of(enroll);
             enroll.setGrade(grade);
             enroll.setStatus(CourseStatus.Completed);
             enrollmentRepo.save(enroll);
+            updateSeats(course, before.status(), CourseStatus.Completed);
+            eventPublisher.publishEvent(EnrollmentChangedEvent.updated(before, enroll));
         }else{
             throw new EntityNotFoundException("can not find Enrollment with student id: " 
                 + student.getId() + " and course id: " + course.getId());
@@ -139,10 +280,13 @@ public class EnrollmentService {
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
     public void setGrade(Long enrollId, Grade grade){
         Enrollment enroll = getEnrollmentById(enrollId);
+        Snapshot before = Snapshot.of(enroll);
         
         enroll.setGrade(grade);
         enroll.setStatus(CourseStatus.Completed);
         enrollmentRepo.save(enroll);
+        updateSeats(enroll.getCourse(), before.status(), CourseStatus.Completed);
+        eventPublisher.publishEvent(EnrollmentChangedEvent.updated(before, enroll));
     }
 
     public Enrollment makeEnrollment(User student, Course course, Integer semester){
@@ -162,9 +306,199 @@ public class EnrollmentService {
         }
 
         isValidEnroll(student, course);
+
+        // a single conditional update on the seat row, no lock is held across the validation above
+        if (!seatAllocator.tryReserve(course.getId())) {
+            throw new RuntimeException("Course '" + course.getName() + "' is full.");
+        }
         
         Enrollment enroll = new Enrollment(student, course, semester, CourseStatus.InProgress);
-        return enrollmentRepo.save(enroll);
+        return saveNewEnrollment(enroll);
+    }
+
+    // used by the waitlist worker, there is no registration date check because the student queued in time
+    // returns false when the course still has no free seat
+    public boolean enrollFromWaitlist(User student, Course course, Integer semester){
+        boolean alreadyEnrolled = enrollmentRepo.existsByStudentAndCourseAndSemester(student, course, semester);
+        if (alreadyEnrolled) {
+            throw new RuntimeException("Student '" + student.getName() + 
+                "' is already enrolled in course '" + course.getName() + 
+                "' for semester " + semester);
+        }
+
+        isValidEnroll(student, course);
+
+        if (!seatAllocator.tryReserve(course.getId())) {
+            return false;
+        }
+        saveNewEnrollment(new Enrollment(student, course, semester, CourseStatus.InProgress));
+        return true;
+    }
+
+    // validates every item against one bulk load of the students' enrollments
+    // and writes the accepted ones with a single JDBC batch
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public List<EnrollmentBatchResult> makeEnrollments(List<EnrollmentRequest> requests, 
+            Map<Long, User> students, Map<Long, Course> courses){
+        Map<Long, List<Enrollment>> enrollmentsByStudent = new HashMap<>();
+        for (Enrollment enroll : enrollmentRepo.findByStudentIn(students.values())) {
+            enrollmentsByStudent.computeIfAbsent(enroll.getStudent().getId(), id -> new ArrayList<>()).add(enroll);
+        }
+
+        List<EnrollmentBatchResult> results = new ArrayList<>();
+        List<Enrollment> toInsert = new ArrayList<>();
+        Set<Long> reservedCourses = new HashSet<>();
+        try {
+            for (EnrollmentRequest req : requests) {
+                User student = students.get(req.getStudentId());
+                Course course = courses.get(req.getCourseId());
+                if (req.getSemester() == null) {
+                    results.add(EnrollmentBatchResult.failed(req, "semester is required"));
+                    continue;
+                }
+                if (student == null) {
+                    results.add(EnrollmentBatchResult.failed(req, "student with id: " + req.getStudentId() + " not found"));
+                    continue;
+                }
+                if (course == null) {
+                    results.add(EnrollmentBatchResult.failed(req, "course with id: " + req.getCourseId() + " not found"));
+                    continue;
+                }
+                if (LocalDate.now().isAfter(course.getCourseEndRegistirationDate())) {
+                    results.add(EnrollmentBatchResult.failed(req, "Registriation time has ended for the course: " + 
+                        course.getName()));
+                    continue;
+                }
+
+                List<Enrollment> studentEnrollments = enrollmentsByStudent.computeIfAbsent(student.getId(), id -> new ArrayList<>());
+                boolean alreadyEnrolled = studentEnrollments.stream().anyMatch(enroll -> 
+                    enroll.getCourse().getId().equals(course.getId()) && req.getSemester().equals(enroll.getSemester()));
+                if (alreadyEnrolled) {
+                    results.add(EnrollmentBatchResult.failed(req, "Student '" + student.getName() + 
+                        "' is already enrolled in course '" + course.getName() + "' for semester " + req.getSemester()));
+                    continue;
+                }
+
+                try {
+                    isValidEnroll(course, studentEnrollments);
+                } catch (RuntimeException e) {
+                    results.add(EnrollmentBatchResult.failed(req, e.getMessage()));
+                    continue;
+                }
+
+                // the seat is taken per item, a full course is refused by the in-memory counter without a DB round trip
+                reservedCourses.add(course.getId());
+                if (!seatAllocator.tryReserve(course.getId())) {
+                    results.add(EnrollmentBatchResult.failed(req, "Course '" + course.getName() + "' is full."));
+                    continue;
+                }
+
+                // only items that got their seat take part in the checks of the following items of the same student
+                Enrollment enroll = new Enrollment(student, course, req.getSemester(), CourseStatus.InProgress);
+                studentEnrollments.add(enroll);
+                toInsert.add(enroll);
+                results.add(EnrollmentBatchResult.succeeded(req));
+            }
+
+            enrollmentBatchRepo.insertAll(toInsert);
+        } catch (RuntimeException e) {
+            // the seat updates roll back with the transaction
+            reservedCourses.forEach(seatAllocator::evict);
+            throw e;
+        }
+        // listeners run after commit
+        toInsert.forEach(enroll -> eventPublisher.publishEvent(EnrollmentChangedEvent.created(enroll)));
+        return results;
+    }
+
+    // resolves every row with one query and writes all the grades with one JDBC batch
+    // lecturers can only grade their own courses
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or " + 
+        "(hasRole('LECTURER') and #course.lecturer != null and #course.lecturer.id == authentication.principal.id)")
+    public List<GradeUploadResult> setGrades(Course course, List<GradeUploadRow> rows){
+        Set<Long> enrollmentIds = new HashSet<>();
+        Set<Long> studentIds = new HashSet<>();
+        for (GradeUploadRow row : rows) {
+            if (row.getEnrollmentId() != null) {
+                enrollmentIds.add(row.getEnrollmentId());
+            } else if (row.getStudentId() != null) {
+                studentIds.add(row.getStudentId());
+            }
+        }
+        // an empty in list is not valid sql, so a query only runs when rows use that kind of target
+        List<Object[]> targets = new ArrayList<>();
+        if (!enrollmentIds.isEmpty()) {
+            targets.addAll(enrollmentRepo.findGradeTargetsById(course.getId(), enrollmentIds));
+        }
+        if (!studentIds.isEmpty()) {
+            targets.addAll(enrollmentRepo.findGradeTargetsByStudent(course.getId(), studentIds));
+        }
+
+        Map<Long, Snapshot> byId = new HashMap<>();
+        Map<Long, List<Snapshot>> byStudent = new HashMap<>();
+        for (Object[] target : targets) {
+            Snapshot enroll = new Snapshot((Long) target[0], (Long) target[1], course.getId(),
+                (Integer) target[2], (CourseStatus) target[3], (Grade) target[4]);
+            // an enrollment both queries found is only counted once for its student
+            if (byId.put(enroll.id(), enroll) == null) {
+                byStudent.computeIfAbsent(enroll.studentId(), id -> new ArrayList<>()).add(enroll);
+            }
+        }
+
+        List<GradeUploadResult> results = new ArrayList<>();
+        Map<Long, Snapshot> before = new LinkedHashMap<>();
+        List<Snapshot> graded = new ArrayList<>();
+        for (GradeUploadRow row : rows) {
+            if (row.getGrade() == null) {
+                results.add(GradeUploadResult.failed(row, "grade is required"));
+                continue;
+            }
+            Snapshot enroll;
+            if (row.getEnrollmentId() != null) {
+                enroll = byId.get(row.getEnrollmentId());
+                if (enroll == null) {
+                    results.add(GradeUploadResult.failed(row, "Enrollment with id: " + row.getEnrollmentId() + 
+                        " not found in course: " + course.getName()));
+                    continue;
+                }
+            } else if (row.getStudentId() != null) {
+                List<Snapshot> candidates = byStudent.getOrDefault(row.getStudentId(), List.of()).stream()
+                    .filter(candidate -> row.getSemester() == null || row.getSemester().equals(candidate.semester()))
+                    .toList();
+                if (candidates.isEmpty()) {
+                    results.add(GradeUploadResult.failed(row, "student with id: " + row.getStudentId() + 
+                        " is not enrolled in course: " + course.getName()));
+                    continue;
+                }
+                if (candidates.size() > 1) {
+                    results.add(GradeUploadResult.failed(row, "student with id: " + row.getStudentId() + 
+                        " has more than one enrollment in course: " + course.getName() + ", pass the semester or the enrollment id"));
+                    continue;
+                }
+                enroll = candidates.get(0);
+            } else {
+                results.add(GradeUploadResult.failed(row, "enrollmentId or studentId is required"));
+                continue;
+            }
+            if (before.containsKey(enroll.id())) {
+                results.add(GradeUploadResult.failed(row, "Enrollment with id: " + enroll.id() + " is graded twice in this upload"));
+                continue;
+            }
+
+            before.put(enroll.id(), enroll);
+            graded.add(new Snapshot(enroll.id(), enroll.studentId(), enroll.courseId(), enroll.semester(), 
+                CourseStatus.Completed, row.getGrade()));
+            results.add(GradeUploadResult.succeeded(enroll.id(), enroll.studentId(), row.getGrade()));
+        }
+
+        enrollmentBatchRepo.updateGrades(graded);
+        for (Snapshot enroll : graded) {
+            updateSeats(course, before.get(enroll.id()).status(), CourseStatus.Completed);
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(before.get(enroll.id()), enroll));
+        }
+        return results;
     }
 
     @PreAuthorize("hasRole('SUPER_ADMIN')")
@@ -178,14 +512,19 @@ public class EnrollmentService {
                 "' for semester " + semester);
         }        
         
+        // super admin override, the seat is taken even if the course is full
+        seatAllocator.forceReserve(course.getId());
         Enrollment enroll = new Enrollment(student, course, semester, CourseStatus.Completed);
-        return enrollmentRepo.save(enroll);   
+        return saveNewEnrollment(enroll);   
     }
 
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public Enrollment editEnrollment(Long enrollmentId, User student, Course course, Integer semester, 
             CourseStatus status, Grade grade){
         Enrollment enroll = getEnrollmentById(enrollmentId);
+        Snapshot before = Snapshot.of(enroll);
+        Course oldCourse = enroll.getCourse();
+        CourseStatus oldStatus = enroll.getStatus();
         if (student != null) {
             enroll.setStudent(student);
         }
@@ -201,11 +540,27 @@ public class EnrollmentService {
         if (grade != null) {
             enroll.setGrade(grade);
         }
-        return enrollmentRepo.save(enroll);
+        Enrollment saved = enrollmentRepo.save(enroll);
+
+        if (oldCourse.getId().equals(saved.getCourse().getId())) {
+            updateSeats(oldCourse, oldStatus, saved.getStatus());
+        } else {
+            // moved to another course: give the old seat back and take one in the new course
+            updateSeats(oldCourse, oldStatus, CourseStatus.Dropped);
+            updateSeats(saved.getCourse(), CourseStatus.Dropped, saved.getStatus());
+        }
+        eventPublisher.publishEvent(EnrollmentChangedEvent.updated(before, saved));
+        return saved;
+    }
+
+    // served from the in-memory counters, semester and status are optional filters
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
+    public Long countCourseEnrollments(Long courseId, Integer semester, CourseStatus status){
+        return enrollmentCounters.countByCourse(courseId, semester, status);
     }
 
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or hasRole('LECTURER')")
-    public Long cousreEnrollments(Course course){
-        return enrollmentRepo.countByCourse(course);
+    public Map<Long, Long> countCoursesEnrollments(Collection<Long> courseIds){
+        return enrollmentCounters.countByCourses(courseIds);
     }
 }
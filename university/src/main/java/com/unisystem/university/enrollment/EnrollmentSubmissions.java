@@ -0,0 +1,162 @@
+package com.unisystem.university.enrollment;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.CourseService;
+import com.unisystem.university.enrollment.DTOS.EnrollmentRequest;
+import com.unisystem.university.enrollment.DTOS.EnrollmentResponse;
+import com.unisystem.university.enrollment.DTOS.EnrollmentSubmissionResponse;
+import com.unisystem.university.enrollment.Types.SubmissionStatus;
+import com.unisystem.university.users.User;
+import com.unisystem.university.users.UserService;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+
+// asynchronous registrations: the request thread only queues the submission and returns its id,
+// a small worker pool runs the usual makeEnrollment so at most `concurrency` registrations hit the database at once
+// the submitter's security context goes with the task, so the service checks see the same user
+// finished submissions are kept for `retention-ms` so clients can poll their outcome
+@Component
+public class EnrollmentSubmissions {
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentSubmissions.class);
+
+    private final EnrollmentService enrollmentService;
+    private final UserService userService;
+    private final CourseService courseService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final long retentionMs;
+    private final Map<String, Submission> submissions = new ConcurrentHashMap<>();
+
+    private static class Submission {
+        private final String id;
+        private final String owner;
+        private final EnrollmentRequest request;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile SubmissionStatus status = SubmissionStatus.PENDING;
+        private volatile EnrollmentResponse enrollment;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+        private volatile long completedAtMillis;
+
+        private Submission(String id, String owner, EnrollmentRequest request) {
+            this.id = id;
+            this.owner = owner;
+            this.request = request;
+        }
+
+        private EnrollmentSubmissionResponse toResponse() {
+            return new EnrollmentSubmissionResponse(id, status, request.getStudentId(), request.getCourseId(), 
+                request.getSemester(), enrollment, error, submittedAt, completedAt);
+        }
+    }
+
+    public EnrollmentSubmissions(EnrollmentService enrollmentService, UserService userService, CourseService courseService,
+            TransactionTemplate transactionTemplate,
+            @Value("${enrollment.async.concurrency:8}") int concurrency,
+            @Value("${enrollment.async.queue-capacity:10000}") int queueCapacity,
+            @Value("${enrollment.async.retention-ms:3600000}") long retentionMs) {
+        this.enrollmentService = enrollmentService;
+        this.userService = userService;
+        this.courseService = courseService;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionMs = retentionMs;
+
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), task -> {
+                Thread thread = new Thread(task, "enrollment-submission-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.workers = new DelegatingSecurityContextExecutorService(pool);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public EnrollmentSubmissionResponse submit(EnrollmentRequest request) {
+        Submission submission = new Submission(UUID.randomUUID().toString(), caller(), request);
+        submissions.put(submission.id, submission);
+        try {
+            workers.execute(() -> process(submission));
+        } catch (RejectedExecutionException e) {
+            submissions.remove(submission.id);
+            throw new RuntimeException("too many enrollment submissions are pending, try again later");
+        }
+        return submission.toResponse();
+    }
+
+    // only the user who submitted (or an admin) can see a submission
+    public EnrollmentSubmissionResponse getSubmission(String id) {
+        Submission submission = submissions.get(id);
+        if (submission == null || !(submission.owner.equals(caller()) || isAdmin())) {
+            throw new EntityNotFoundException("enrollment submission with id: " + id + " not found");
+        }
+        return submission.toResponse();
+    }
+
+    private void process(Submission submission) {
+        EnrollmentRequest request = submission.request;
+        SubmissionStatus outcome;
+        try {
+            // one transaction so the lazy course associations the validation walks can load off the request thread
+            submission.enrollment = transactionTemplate.execute(tx -> {
+                User student = userService.getStudent(request.getStudentId());
+                Course course = courseService.getCourseById(request.getCourseId());
+                return new EnrollmentResponse(enrollmentService.makeEnrollment(student, course, request.getSemester()));
+            });
+            outcome = SubmissionStatus.SUCCEEDED;
+        } catch (RuntimeException e) {
+            submission.error = e.getMessage();
+            outcome = SubmissionStatus.FAILED;
+            log.debug("enrollment submission {} failed: {}", submission.id, e.getMessage());
+        }
+        submission.completedAt = LocalDateTime.now();
+        submission.completedAtMillis = System.currentTimeMillis();
+        // published last, the sweep only looks at the completion time of finished submissions
+        submission.status = outcome;
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.async.sweep-ms:60000}")
+    public void evictCompleted() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        submissions.values().removeIf(submission -> 
+            submission.status != SubmissionStatus.PENDING && submission.completedAtMillis < cutoff);
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+            .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN") 
+                || authority.getAuthority().equals("ROLE_SUPER_ADMIN"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.unisystem.university.enrollment;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+// remembers the response of a mutation under the client's Idempotency-Key header
+// a retry with the same key is answered from the stored response without running the mutation again
+// concurrent requests with the same key wait for the first one instead of racing it
+// keys are scoped to the caller and the operation, so two users can't read each other's responses
+@Component
+public class IdempotencyStore {
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    // completed entries in completion order, the head is always the next one to expire
+    private final ConcurrentLinkedQueue<Entry> completed = new ConcurrentLinkedQueue<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final long waitMillis;
+
+    public IdempotencyStore(@Value("${idempotency.ttl-ms:86400000}") long ttlMillis,
+                        @Value("${idempotency.max-entries:100000}") int maxEntries,
+                        @Value("${idempotency.wait-ms:30000}") long waitMillis) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.waitMillis = waitMillis;
+    }
+
+    // runs the action once per key, request is only used to refuse a key reused for a different payload
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String operation, Object request,
+                        Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " can't be longer than " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Key key = new Key(caller(), operation, idempotencyKey);
+        Entry mine = new Entry(key, request);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(key, mine)) != null) {
+            if (existing.isExpired(System.currentTimeMillis())) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!Objects.equals(existing.request, request)) {
+                throw new IllegalArgumentException(HEADER + " " + idempotencyKey + " was already used for a different request");
+            }
+            return await(existing);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            // failures are not remembered so the client can retry them, requests already waiting get the same failure
+            entries.remove(key, mine);
+            mine.response.completeExceptionally(e);
+            throw e;
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            entries.remove(key, mine);
+        } else {
+            mine.expiresAt = System.currentTimeMillis() + ttlMillis;
+            completed.add(mine);
+            evictOverflow();
+        }
+        mine.response.complete(response);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> await(Entry entry) {
+        try {
+            return (ResponseEntity<T>) entry.response.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("a request with this " + HEADER + " is still being processed, retry later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted while waiting for a request with the same " + HEADER);
+        }
+    }
+
+    // drops the oldest completed responses once the store is over its size, in-flight requests are never evicted
+    private void evictOverflow() {
+        while (entries.size() > maxEntries) {
+            Entry oldest = completed.poll();
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest.key, oldest);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.sweep-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        Entry head;
+        while ((head = completed.peek()) != null && head.isExpired(now)) {
+            if (completed.remove(head)) {
+                entries.remove(head.key, head);
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+
+    private record Key(String caller, String operation, String idempotencyKey) {}
+
+    private static class Entry {
+        private final Key key;
+        // the request DTOs are value objects, a hash alone would let two different payloads collide
+        private final Object request;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+        // set once the response is stored, in-flight entries never expire
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(Key key, Object request) {
+            this.key = key;
+            this.request = request;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
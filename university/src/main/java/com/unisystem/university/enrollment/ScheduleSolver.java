@@ -0,0 +1,234 @@
+package com.unisystem.university.enrollment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.CourseRepository;
+import com.unisystem.university.enrollment.DTOS.ExcludedCourse;
+import com.unisystem.university.enrollment.DTOS.ScheduleOption;
+import com.unisystem.university.enrollment.DTOS.ScheduleOptionsResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.lectureTime.ScheduleIndex;
+import com.unisystem.university.lectureTime.WeeklySlots;
+import com.unisystem.university.users.User;
+
+// read-only "which of these courses can I take together" search
+// courses that fail on their own (missing prerequisites, clash with the current timetable) are pruned first,
+// then a backtracking search over the pairwise compatibility of the rest finds the largest conflict-free sets
+// the search has a hard time budget and returns what it found so far when it runs out
+@Component
+public class ScheduleSolver {
+    // the compatibility of the wished courses is kept as one long bitmask per course
+    public static final int MAX_WISHED_COURSES = 64;
+    public static final int DEFAULT_OPTIONS = 10;
+    public static final int MAX_OPTIONS = 50;
+
+    private final EnrollmentRepository enrollmentRepo;
+    private final CourseRepository courseRepo;
+    private final ScheduleIndex scheduleIndex;
+    private final long budgetNanos;
+
+    public ScheduleSolver(EnrollmentRepository enrollmentRepo, CourseRepository courseRepo, ScheduleIndex scheduleIndex,
+            @Value("${enrollment.solver.budget-ms:200}") long budgetMs) {
+        this.enrollmentRepo = enrollmentRepo;
+        this.courseRepo = courseRepo;
+        this.scheduleIndex = scheduleIndex;
+        this.budgetNanos = budgetMs * 1_000_000;
+    }
+
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or (hasRole('STUDENT') and #student.id == authentication.principal.id)")
+    public ScheduleOptionsResponse solve(User student, Collection<Long> courseIds, Integer limit) {
+        long deadline = System.nanoTime() + budgetNanos;
+        Set<Long> wished = new LinkedHashSet<>(courseIds);
+        if (wished.isEmpty()) {
+            throw new IllegalArgumentException("at least one course id is required");
+        }
+        if (wished.size() > MAX_WISHED_COURSES) {
+            throw new IllegalArgumentException("can't plan more than " + MAX_WISHED_COURSES + " courses at once");
+        }
+        int options = limit == null ? DEFAULT_OPTIONS : limit;
+        if (options < 1 || options > MAX_OPTIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_OPTIONS);
+        }
+
+        List<Enrollment> history = enrollmentRepo.findByStudent(student);
+        Set<Long> historyCourseIds = history.stream().map(enrollment -> enrollment.getCourse().getId())
+            .collect(Collectors.toSet());
+        Map<Long, Course> courses = courseRepo.findAllById(wished).stream()
+            .collect(Collectors.toMap(Course::getId, Function.identity()));
+
+        List<Course> candidates = new ArrayList<>();
+        List<WeeklySlots> slots = new ArrayList<>();
+        List<ExcludedCourse> excluded = new ArrayList<>();
+        for (Long courseId : wished) {
+            Course course = courses.get(courseId);
+            if (course == null) {
+                excluded.add(new ExcludedCourse(courseId, null, "course not found"));
+                continue;
+            }
+            WeeklySlots courseSlots = scheduleIndex.slotsOf(course);
+            String reason = exclusionReason(course, courseSlots, history, historyCourseIds);
+            if (reason != null) {
+                excluded.add(new ExcludedCourse(courseId, course.getName(), reason));
+                continue;
+            }
+            candidates.add(course);
+            slots.add(courseSlots);
+        }
+
+        // compatible[i] has bit j set when courses i and j can be taken together
+        int n = candidates.size();
+        long[] compatible = new long[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (!overlaps(candidates.get(i), candidates.get(j)) || !slots.get(i).intersects(slots.get(j))) {
+                    compatible[i] |= 1L << j;
+                    compatible[j] |= 1L << i;
+                }
+            }
+        }
+
+        Search search = new Search(compatible, options, deadline);
+        if (n > 0) {
+            search.expand(0L, n == 64 ? -1L : (1L << n) - 1, 0L);
+        }
+
+        List<ScheduleOption> result = search.best.stream()
+            .sorted(Search.LARGEST_FIRST)
+            .map(set -> toOption(set, candidates))
+            .collect(Collectors.toList());
+        return new ScheduleOptionsResponse(student.getId(), result, excluded, !search.timedOut);
+    }
+
+    // the same rules isValidEnroll applies, checked once per course instead of once per combination
+    private String exclusionReason(Course course, WeeklySlots courseSlots, List<Enrollment> history, 
+            Set<Long> historyCourseIds) {
+        for (Enrollment enrollment : history) {
+            if (enrollment.getCourse().getId().equals(course.getId()) && enrollment.getStatus() != CourseStatus.Dropped) {
+                return enrollment.getStatus() == CourseStatus.Completed ? "already completed" : "already enrolled";
+            }
+        }
+
+        if (course.getPrerequisites() != null) {
+            String missing = course.getPrerequisites().stream()
+                .filter(prereq -> !historyCourseIds.contains(prereq.getId()))
+                .map(Course::getName)
+                .collect(Collectors.joining(", "));
+            if (!missing.isEmpty()) {
+                return "missing prerequisites: " + missing;
+            }
+        }
+
+        for (Enrollment enrollment : history) {
+            if (enrollment.getStatus() == CourseStatus.Completed || enrollment.getStatus() == CourseStatus.Dropped
+                    || !overlaps(enrollment.getCourse(), course)) {
+                continue;
+            }
+            if (scheduleIndex.slotsOf(enrollment.getCourse()).intersects(courseSlots)) {
+                return "conflicts with enrolled course " + enrollment.getCourse().getName();
+            }
+        }
+        return null;
+    }
+
+    private boolean overlaps(Course first, Course second) {
+        return first.getStartDate().isBefore(second.getEndDate()) && first.getEndDate().isAfter(second.getStartDate());
+    }
+
+    private ScheduleOption toOption(long set, List<Course> candidates) {
+        List<Long> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (long rest = set; rest != 0; rest &= rest - 1) {
+            Course course = candidates.get(Long.numberOfTrailingZeros(rest));
+            ids.add(course.getId());
+            names.add(course.getName());
+        }
+        return new ScheduleOption(ids, names, ids.size());
+    }
+
+    // Bron-Kerbosch with pivoting over the compatibility graph: every maximal clique is a maximal
+    // conflict-free schedule, only the largest `limit` ones are kept and branches that can't beat them are cut
+    private static class Search {
+        // bigger sets first, between equal sizes the one holding the earliest wished course first
+        static final Comparator<Long> LARGEST_FIRST = Comparator.<Long>comparingInt(Long::bitCount).reversed()
+            .thenComparing((a, b) -> {
+                long lowest = (a ^ b) & -(a ^ b);
+                return lowest == 0 ? 0 : (a & lowest) != 0 ? -1 : 1;
+            });
+
+        final long[] compatible;
+        final int limit;
+        final long deadline;
+        // smallest kept set at the head
+        final PriorityQueue<Long> best;
+        boolean timedOut = false;
+
+        Search(long[] compatible, int limit, long deadline) {
+            this.compatible = compatible;
+            this.limit = limit;
+            this.deadline = deadline;
+            this.best = new PriorityQueue<>(LARGEST_FIRST.reversed());
+        }
+
+        // r is the schedule being built, p the courses that can still join it, x the ones already tried
+        void expand(long r, long p, long x) {
+            if (timedOut || System.nanoTime() > deadline) {
+                timedOut = true;
+                return;
+            }
+            if (p == 0) {
+                if (x == 0) {
+                    keep(r);
+                }
+                return;
+            }
+            if (best.size() == limit && Long.bitCount(r) + Long.bitCount(p) <= Long.bitCount(best.peek())) {
+                return;
+            }
+
+            // branching only on courses not compatible with the pivot skips sets that can't be maximal
+            int pivot = -1;
+            int pivotDegree = -1;
+            for (long rest = p | x; rest != 0; rest &= rest - 1) {
+                int u = Long.numberOfTrailingZeros(rest);
+                int degree = Long.bitCount(p & compatible[u]);
+                if (degree > pivotDegree) {
+                    pivot = u;
+                    pivotDegree = degree;
+                }
+            }
+
+            for (long branch = p & ~compatible[pivot]; branch != 0 && !timedOut; branch &= branch - 1) {
+                int v = Long.numberOfTrailingZeros(branch);
+                long bit = 1L << v;
+                expand(r | bit, p & compatible[v], x & compatible[v]);
+                p &= ~bit;
+                x |= bit;
+            }
+        }
+
+        void keep(long set) {
+            if (best.size() < limit) {
+                best.add(set);
+            } else if (Long.bitCount(set) > Long.bitCount(best.peek())) {
+                best.poll();
+                best.add(set);
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.unisystem.university.enrollment;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unisystem.university.courses.CourseSeatsRepository;
+import com.unisystem.university.courses.SeatAllocator;
+import com.unisystem.university.enrollment.EnrollmentChangedEvent.Snapshot;
+import com.unisystem.university.enrollment.DTOS.CloseoutRequest;
+import com.unisystem.university.enrollment.Types.CloseoutStatus;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.Grade;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+
+// moves the InProgress enrollments of a semester to Completed (graded) or the requested status (ungraded)
+// with one locking select and one bulk update per chunk of ids, each chunk commits together with the run progress
+// runs are executed one at a time on a background thread and picked up again after a restart
+@Service
+public class SemesterCloseoutService {
+    private static final Logger log = LoggerFactory.getLogger(SemesterCloseoutService.class);
+
+    private final CloseoutRunRepository closeoutRunRepo;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CourseSeatsRepository seatsRepo;
+    private final SeatAllocator seatAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "semester-closeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SemesterCloseoutService(CloseoutRunRepository closeoutRunRepo, NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, CourseSeatsRepository seatsRepo, SeatAllocator seatAllocator, 
+            ApplicationEventPublisher eventPublisher, @Value("${enrollment.closeout.chunk-size:2000}") int chunkSize) {
+        this.closeoutRunRepo = closeoutRunRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.seatsRepo = seatsRepo;
+        this.seatAllocator = seatAllocator;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    // runs that were cut by a shutdown or a crash continue where their last chunk stopped
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRunning() {
+        for (CloseoutRun run : closeoutRunRepo.findByStatusOrderById(CloseoutStatus.RUNNING)) {
+            log.info("resuming semester close-out run {} after enrollment {}", run.getId(), run.getLastEnrollmentId());
+            runner.submit(() -> execute(run.getId()));
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public CloseoutRun start(CloseoutRequest req) {
+        if (req.getSemester() == null) {
+            throw new IllegalArgumentException("semester is required");
+        }
+        if (req.getUngradedStatus() != CourseStatus.Completed && req.getUngradedStatus() != CourseStatus.Dropped) {
+            throw new IllegalArgumentException("ungradedStatus must be Completed or Dropped");
+        }
+        CloseoutRun run = new CloseoutRun();
+        run.setSemester(req.getSemester());
+        if (req.getCourseIds() != null && !req.getCourseIds().isEmpty()) {
+            run.setCourseIds(req.getCourseIds().stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+        run.setUngradedStatus(req.getUngradedStatus());
+        run.setStatus(CloseoutStatus.RUNNING);
+        run.setStartedAt(LocalDateTime.now());
+        run.setTotalCount(count(run));
+        CloseoutRun saved = closeoutRunRepo.save(run);
+
+        runner.submit(() -> execute(saved.getId()));
+        return saved;
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public CloseoutRun resume(Long runId) {
+        CloseoutRun run = getRun(runId);
+        if (run.getStatus() != CloseoutStatus.FAILED) {
+            throw new IllegalStateException("only failed close-out runs can be resumed, run " + runId + " is " + run.getStatus());
+        }
+        run.setStatus(CloseoutStatus.RUNNING);
+        run.setError(null);
+        CloseoutRun saved = closeoutRunRepo.save(run);
+
+        runner.submit(() -> execute(saved.getId()));
+        return saved;
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public CloseoutRun getRun(Long runId) {
+        return closeoutRunRepo.findById(runId).orElseThrow(() -> 
+            new EntityNotFoundException("close-out run with id: " + runId + " not found"));
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public List<CloseoutRun> getRuns(Integer semester) {
+        return closeoutRunRepo.findBySemesterOrderByIdDesc(semester);
+    }
+
+    private void execute(Long runId) {
+        Set<Long> releasedCourses = new HashSet<>();
+        try {
+            // one transaction per chunk until nothing is left
+            while (Boolean.TRUE.equals(transactionTemplate.execute(tx -> closeChunk(runId, releasedCourses)))) {
+                // the seat counters are reloaded only once the released seats are committed
+                releasedCourses.forEach(seatAllocator::evict);
+                releasedCourses.clear();
+            }
+            CloseoutRun run = closeoutRunRepo.findById(runId).orElseThrow();
+            run.setStatus(CloseoutStatus.COMPLETED);
+            run.setFinishedAt(LocalDateTime.now());
+            closeoutRunRepo.save(run);
+            log.info("semester close-out run {} finished: {} completed, {} dropped", 
+                runId, run.getCompletedCount(), run.getDroppedCount());
+        } catch (RuntimeException e) {
+            log.error("semester close-out run {} failed", runId, e);
+            closeoutRunRepo.findById(runId).ifPresent(run -> {
+                run.setStatus(CloseoutStatus.FAILED);
+                run.setError(e.getMessage());
+                closeoutRunRepo.save(run);
+            });
+        }
+    }
+
+    // returns false once there is nothing left to close
+    private boolean closeChunk(Long runId, Set<Long> releasedCourses) {
+        CloseoutRun run = closeoutRunRepo.findById(runId).orElseThrow();
+        MapSqlParameterSource params = filter(run)
+            .addValue("lastId", run.getLastEnrollmentId())
+            .addValue("limit", chunkSize);
+        // the rows are locked so the snapshots stay true until the update below
+        List<Snapshot> chunk = jdbcTemplate.query(
+            "select id, student_id, course_id, semester, status, grade from enrollment " + 
+            "where semester = :semester and status = 'InProgress' and id > :lastId" + courseFilter(run) + 
+            " order by id limit :limit for update", 
+            params, this::snapshot);
+        if (chunk.isEmpty()) {
+            return false;
+        }
+
+        List<Long> ids = chunk.stream().map(Snapshot::id).toList();
+        jdbcTemplate.update(
+            "update enrollment set status = case when grade is null then :ungraded else 'Completed' end " + 
+            "where id in (:ids)", 
+            new MapSqlParameterSource("ungraded", run.getUngradedStatus().name()).addValue("ids", ids));
+
+        Map<Long, Integer> droppedByCourse = new HashMap<>();
+        for (Snapshot before : chunk) {
+            CourseStatus status = before.grade() == null ? run.getUngradedStatus() : CourseStatus.Completed;
+            if (status == CourseStatus.Dropped) {
+                run.setDroppedCount(run.getDroppedCount() + 1);
+                droppedByCourse.merge(before.courseId(), 1, Integer::sum);
+            } else {
+                run.setCompletedCount(run.getCompletedCount() + 1);
+            }
+            // delivered to the read models after this chunk commits
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(before, new Snapshot(before.id(), before.studentId(), 
+                before.courseId(), before.semester(), status, before.grade())));
+        }
+        // the seats go back without a SeatReleasedEvent, the semester is over so nobody on a waitlist
+        // is promoted into these courses, and the promotion would race with this uncommitted chunk
+        droppedByCourse.forEach(seatsRepo::release);
+        releasedCourses.addAll(droppedByCourse.keySet());
+
+        run.setLastEnrollmentId(ids.get(ids.size() - 1));
+        run.setChunks(run.getChunks() + 1);
+        closeoutRunRepo.save(run);
+        return true;
+    }
+
+    private long count(CloseoutRun run) {
+        Long count = jdbcTemplate.queryForObject(
+            "select count(*) from enrollment where semester = :semester and status = 'InProgress'" + courseFilter(run), 
+            filter(run), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private MapSqlParameterSource filter(CloseoutRun run) {
+        MapSqlParameterSource params = new MapSqlParameterSource("semester", run.getSemester());
+        if (run.getCourseIds() != null) {
+            params.addValue("courseIds", Arrays.stream(run.getCourseIds().split(",")).map(Long::valueOf).toList());
+        }
+        return params;
+    }
+
+    private String courseFilter(CloseoutRun run) {
+        return run.getCourseIds() == null ? "" : " and course_id in (:courseIds)";
+    }
+
+    private Snapshot snapshot(ResultSet rs, int rowNum) throws SQLException {
+        String grade = rs.getString("grade");
+        return new Snapshot(rs.getLong("id"), rs.getLong("student_id"), rs.getLong("course_id"), 
+            rs.getInt("semester"), CourseStatus.valueOf(rs.getString("status")), grade == null ? null : Grade.valueOf(grade));
+    }
+}
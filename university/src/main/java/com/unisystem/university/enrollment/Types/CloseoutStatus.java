@@ -0,0 +1,7 @@
+package com.unisystem.university.enrollment.Types;
+
+public enum CloseoutStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,25 @@
+package com.unisystem.university.enrollment.Types;
+
+import com.unisystem.university.paging.KeysetSortKey;
+
+// keys enrollment lists can be paged by, every key is followed by the enrollment id so the order is total
+public enum EnrollmentSortKey implements KeysetSortKey {
+    id,
+    semester,
+    status;
+
+    // the Enrollment field the key sorts on
+    @Override
+    public String getAttribute() {
+        return name();
+    }
+
+    @Override
+    public Object parse(String value) {
+        return switch (this) {
+            case id -> Long.valueOf(value);
+            case semester -> Integer.valueOf(value);
+            case status -> CourseStatus.valueOf(value);
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.unisystem.university.enrollment.Types;
+
+public enum ExportFormat {
+    csv,
+    ndjson
+}
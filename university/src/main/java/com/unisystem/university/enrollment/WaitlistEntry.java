@@ -0,0 +1,45 @@
+package com.unisystem.university.enrollment;
+
+import java.time.LocalDateTime;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.users.User;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id", "semester"}))
+@Data
+@NoArgsConstructor
+public class WaitlistEntry {
+    // ids grow with join order so they double as the FIFO order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "student_id")
+    private User student;
+
+    @ManyToOne
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    private Integer semester;
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public WaitlistEntry(User student, Course course, Integer semester){
+        this.student = student;
+        this.course = course;
+        this.semester = semester;
+    }
+}
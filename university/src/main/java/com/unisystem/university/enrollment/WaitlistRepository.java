@@ -0,0 +1,14 @@
+package com.unisystem.university.enrollment;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+    // (entry id, student id, course id, semester) of every entry in FIFO order, without loading users and courses
+    @Query("select w.id, w.student.id, w.course.id, w.semester from WaitlistEntry w order by w.id")
+    List<Object[]> findAllQueueKeys();
+}
@@ -0,0 +1,265 @@
+package com.unisystem.university.enrollment;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.SeatAllocator;
+import com.unisystem.university.courses.SeatReleasedEvent;
+import com.unisystem.university.enrollment.DTOS.WaitlistPositionResponse;
+import com.unisystem.university.users.User;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+
+// per course FIFO waitlist
+// entries are stored in the database and mirrored in memory so a student's position is a map lookup
+// when a seat is released a single background worker promotes the next eligible student
+// a student who fails the enrollment rules is dropped from the queue, a failed database call is retried later
+@Service
+public class WaitlistService {
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    private final WaitlistRepository waitlistRepo;
+    private final EnrollmentRepository enrollmentRepo;
+    private final EnrollmentService enrollmentService;
+    private final SeatAllocator seatAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final long retryMillis;
+
+    private final Map<Long, CourseWaitlist> waitlists = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService promoter = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "waitlist-promoter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WaitlistService(WaitlistRepository waitlistRepo, EnrollmentRepository enrollmentRepo,
+            EnrollmentService enrollmentService, SeatAllocator seatAllocator, TransactionTemplate transactionTemplate,
+            @Value("${enrollment.waitlist.retry-ms:5000}") long retryMillis) {
+        this.waitlistRepo = waitlistRepo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.enrollmentService = enrollmentService;
+        this.seatAllocator = seatAllocator;
+        this.transactionTemplate = transactionTemplate;
+        this.retryMillis = retryMillis;
+    }
+
+    // a student waits separately for every semester of a course
+    private record Waiting(Long entryId, Long studentId, Integer semester) {
+        boolean isFor(Long studentId, Integer semester) {
+            return this.studentId.equals(studentId) && Objects.equals(this.semester, semester);
+        }
+    }
+
+    private record StudentSemester(Long studentId, Integer semester) {
+    }
+
+    // queue of entries ordered by id (join order) with a (student, semester) -> position map
+    // the map is rebuilt on every change, changes are rare next to position polling
+    private static class CourseWaitlist {
+        private final List<Waiting> queue = new ArrayList<>();
+        private volatile Map<StudentSemester, Integer> positions = Map.of();
+
+        synchronized void add(Waiting waiting) {
+            int index = queue.size();
+            while (index > 0 && queue.get(index - 1).entryId() > waiting.entryId()) {
+                index--;
+            }
+            queue.add(index, waiting);
+            reindex();
+        }
+
+        synchronized void remove(Long entryId) {
+            if (queue.removeIf(waiting -> waiting.entryId().equals(entryId))) {
+                reindex();
+            }
+        }
+
+        synchronized Long peek() {
+            return queue.isEmpty() ? null : queue.get(0).entryId();
+        }
+
+        synchronized Long entryOf(Long studentId, Integer semester) {
+            for (Waiting waiting : queue) {
+                if (waiting.isFor(studentId, semester)) {
+                    return waiting.entryId();
+                }
+            }
+            return null;
+        }
+
+        private void reindex() {
+            Map<StudentSemester, Integer> newPositions = new HashMap<>();
+            for (int i = 0; i < queue.size(); i++) {
+                Waiting waiting = queue.get(i);
+                newPositions.put(new StudentSemester(waiting.studentId(), waiting.semester()), i + 1);
+            }
+            positions = newPositions;
+        }
+
+        Integer position(Long studentId, Integer semester) {
+            return positions.get(new StudentSemester(studentId, semester));
+        }
+
+        int size() {
+            return positions.size();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadWaitlists() {
+        for (Object[] keys : waitlistRepo.findAllQueueKeys()) {
+            waitlists.computeIfAbsent((Long) keys[2], id -> new CourseWaitlist())
+                .add(new Waiting((Long) keys[0], (Long) keys[1], (Integer) keys[3]));
+        }
+        // seats may have been freed while the app was down
+        waitlists.keySet().forEach(this::schedulePromotion);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        promoter.shutdownNow();
+    }
+
+    // students only manage their own place in a queue
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or (hasRole('STUDENT') and #student.id == authentication.principal.id)")
+    public WaitlistPositionResponse join(User student, Course course, Integer semester) {
+        // promotions skip the date check, so the queue itself closes with the registration
+        if (LocalDate.now().isAfter(course.getCourseEndRegistirationDate())) {
+            throw new RuntimeException("Registriation time has ended for the \n" +
+                "course: " + course.getName() +
+                "Last date to join the waitlist was: " + course.getCourseEndRegistirationDate()
+            );
+        }
+        if (seatAllocator.hasFreeSeat(course.getId())) {
+            throw new RuntimeException("Course '" + course.getName() + "' still has free seats, enroll directly.");
+        }
+        if (enrollmentRepo.existsByStudentAndCourseAndSemester(student, course, semester)) {
+            throw new RuntimeException("Student '" + student.getName() + 
+                "' is already enrolled in course '" + course.getName() + 
+                "' for semester " + semester);
+        }
+        CourseWaitlist waitlist = waitlists.computeIfAbsent(course.getId(), id -> new CourseWaitlist());
+        if (waitlist.position(student.getId(), semester) != null) {
+            throw new RuntimeException("Student '" + student.getName() + 
+                "' is already on the waitlist of course '" + course.getName() + "' for semester " + semester);
+        }
+        // fail early, the checks run again when the student is promoted
+        enrollmentService.isValidEnroll(student, course);
+
+        WaitlistEntry entry;
+        try {
+            entry = waitlistRepo.save(new WaitlistEntry(student, course, semester));
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Student '" + student.getName() + 
+                "' is already on the waitlist of course '" + course.getName() + "'");
+        }
+        waitlist.add(new Waiting(entry.getId(), student.getId(), semester));
+        return getPosition(course.getId(), student.getId(), semester);
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or (hasRole('STUDENT') and #studentId == authentication.principal.id)")
+    public void leave(Long courseId, Long studentId, Integer semester) {
+        CourseWaitlist waitlist = waitlists.get(courseId);
+        Long entryId = waitlist == null ? null : waitlist.entryOf(studentId, semester);
+        if (entryId == null) {
+            throw new EntityNotFoundException("student with id: " + studentId + 
+                " is not on the waitlist of course with id: " + courseId + " for semester " + semester);
+        }
+        waitlistRepo.deleteById(entryId);
+        waitlist.remove(entryId);
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN') or (hasRole('STUDENT') and #studentId == authentication.principal.id)")
+    public WaitlistPositionResponse getPosition(Long courseId, Long studentId, Integer semester) {
+        CourseWaitlist waitlist = waitlists.get(courseId);
+        if (waitlist == null) {
+            return new WaitlistPositionResponse(courseId, studentId, semester, null, 0);
+        }
+        return new WaitlistPositionResponse(courseId, studentId, semester, waitlist.position(studentId, semester),
+            waitlist.size());
+    }
+
+    @EventListener
+    public void onSeatReleased(SeatReleasedEvent event) {
+        schedulePromotion(event.courseId());
+    }
+
+    private void schedulePromotion(Long courseId) {
+        CourseWaitlist waitlist = waitlists.get(courseId);
+        if (waitlist != null && waitlist.peek() != null) {
+            promoter.execute(() -> promoteNext(courseId));
+        }
+    }
+
+    // runs on the promoter thread only, so promotions of the same course never race each other
+    private void promoteNext(Long courseId) {
+        CourseWaitlist waitlist = waitlists.get(courseId);
+        Long entryId;
+        while ((entryId = waitlist.peek()) != null) {
+            Long headId = entryId;
+            boolean done;
+            try {
+                done = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    Optional<WaitlistEntry> entry = waitlistRepo.findById(headId);
+                    if (entry.isEmpty()) {
+                        return true;
+                    }
+                    WaitlistEntry waiting = entry.get();
+                    if (!enrollmentService.enrollFromWaitlist(waiting.getStudent(), waiting.getCourse(), waiting.getSemester())) {
+                        return false;
+                    }
+                    waitlistRepo.delete(waiting);
+                    return true;
+                }));
+            } catch (RuntimeException e) {
+                if (isRetryable(e)) {
+                    // the student keeps their place, the reserved seat was rolled back with the transaction
+                    log.warn("Promotion of waitlist entry {} of course {} failed, retrying in {} ms: {}", 
+                        headId, courseId, retryMillis, e.getMessage());
+                    seatAllocator.evict(courseId);
+                    promoter.schedule(() -> promoteNext(courseId), retryMillis, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                // prerequisites, time conflict or already enrolled: skip this student
+                log.info("Removing waitlist entry {} of course {}: {}", headId, courseId, e.getMessage());
+                waitlistRepo.deleteById(headId);
+                done = true;
+            }
+            if (!done) {
+                // no free seat left
+                return;
+            }
+            waitlist.remove(headId);
+        }
+    }
+
+    // the database or the transaction failed, not the enrollment rules
+    // a unique key violation means the student got enrolled some other way
+    private static boolean isRetryable(RuntimeException e) {
+        return e instanceof TransactionException
+            || (e instanceof DataAccessException && !(e instanceof DataIntegrityViolationException));
+    }
+}
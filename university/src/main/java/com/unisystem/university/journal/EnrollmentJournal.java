@@ -0,0 +1,223 @@
+package com.unisystem.university.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.unisystem.university.enrollment.EnrollmentChangedEvent;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// append only journal of enrollment mutations kept in rotating memory mapped segment files
+// callers only put the record on a queue, a single writer thread copies batches into the
+// mapped segment and forces it to disk every journal.fsync-interval-ms
+// segment files are named after the time they were started so time range reads can skip whole files
+@Component
+public class EnrollmentJournal {
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentJournal.class);
+    private static final String SEGMENT_PREFIX = "enrollments-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int QUEUE_CAPACITY = 65536;
+    private static final int MAX_BATCH = 1024;
+
+    private final Path dir;
+    private final int segmentSize;
+    private final long fsyncIntervalMs;
+    private final BlockingQueue<JournalRecord> pending = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer = new Thread(this::writeLoop, "enrollment-journal-writer");
+    private volatile boolean running = true;
+
+    // owned by the writer thread
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private boolean dirty = false;
+
+    // what readers may see of the active segment
+    private volatile Path activeSegment;
+    private volatile int committed;
+
+    public EnrollmentJournal(@Value("${journal.dir:data/journal}") String dir,
+            @Value("${journal.segment-size:67108864}") int segmentSize,
+            @Value("${journal.fsync-interval-ms:1000}") long fsyncIntervalMs) {
+        this.dir = Path.of(dir);
+        this.segmentSize = segmentSize - segmentSize % JournalRecord.SIZE;
+        this.fsyncIntervalMs = fsyncIntervalMs;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(dir);
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            openSegment(System.currentTimeMillis());
+        } else {
+            // continue after the last complete record of the newest segment
+            Path last = segments.get(segments.size() - 1);
+            mapSegment(last, startOf(last));
+            while (JournalRecord.readFrom(segment) != null) {
+                // readFrom moves past every complete record
+            }
+            committed = segment.position();
+        }
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        for (JournalRecord record : JournalRecord.of(event, System.currentTimeMillis())) {
+            append(record);
+        }
+    }
+
+    public void append(JournalRecord record) {
+        if (!pending.offer(record)) {
+            log.warn("enrollment journal queue is full, waiting for the writer");
+            try {
+                pending.put(record);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("enrollment journal record dropped: {}", record);
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<JournalRecord> batch = new ArrayList<>(MAX_BATCH);
+        long lastSync = System.currentTimeMillis();
+        while (running || !pending.isEmpty()) {
+            try {
+                JournalRecord first = pending.poll(fsyncIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    pending.drainTo(batch, MAX_BATCH - 1);
+                    for (JournalRecord record : batch) {
+                        write(record);
+                    }
+                    batch.clear();
+                    committed = segment.position();
+                }
+                long now = System.currentTimeMillis();
+                if (dirty && now - lastSync >= fsyncIntervalMs) {
+                    segment.force();
+                    dirty = false;
+                    lastSync = now;
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException | IOException e) {
+                log.error("enrollment journal write failed, {} records lost", batch.size(), e);
+                batch.clear();
+            }
+        }
+        try {
+            segment.force();
+            channel.close();
+        } catch (IOException e) {
+            log.error("enrollment journal close failed", e);
+        }
+    }
+
+    private void write(JournalRecord record) throws IOException {
+        if (segment.remaining() < JournalRecord.SIZE) {
+            segment.force();
+            channel.close();
+            openSegment(Math.max(System.currentTimeMillis(), segmentStart + 1));
+        }
+        record.writeTo(segment);
+        dirty = true;
+    }
+
+    private void openSegment(long start) throws IOException {
+        mapSegment(dir.resolve(SEGMENT_PREFIX + String.format("%020d", start) + SEGMENT_SUFFIX), start);
+        committed = 0;
+    }
+
+    private void mapSegment(Path path, long start) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentStart = start;
+        activeSegment = path;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX) 
+                    && file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private static long startOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // replays the records in append order, any filter can be null, at most limit records are returned
+    // a record in a segment is never newer than the start of the next segment, so older segments are skipped
+    public List<JournalRecord> read(Long studentId, Long courseId, Long fromMillis, Long toMillis, int limit) {
+        Predicate<JournalRecord> matches = record -> 
+            (studentId == null || studentId.equals(record.studentId()))
+            && (courseId == null || courseId.equals(record.courseId()))
+            && (fromMillis == null || record.timestamp() >= fromMillis)
+            && (toMillis == null || record.timestamp() <= toMillis);
+
+        List<JournalRecord> result = new ArrayList<>();
+        try {
+            List<Path> segments = segments();
+            for (int i = 0; i < segments.size() && result.size() < limit; i++) {
+                if (fromMillis != null && i + 1 < segments.size() && startOf(segments.get(i + 1)) < fromMillis) {
+                    continue;
+                }
+                if (toMillis != null && startOf(segments.get(i)) > toMillis) {
+                    break;
+                }
+                readSegment(segments.get(i), matches, limit, result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    private void readSegment(Path path, Predicate<JournalRecord> matches, int limit, List<JournalRecord> result) 
+            throws IOException {
+        // the active segment is only read up to what the writer has finished
+        long size = path.equals(activeSegment) ? committed : Files.size(path);
+        try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = reader.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            JournalRecord record;
+            while (result.size() < limit && (record = JournalRecord.readFrom(buffer)) != null) {
+                if (matches.test(record)) {
+                    result.add(record);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.unisystem.university.journal;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/journal")
+public class JournalController {
+    private static final int MAX_LIMIT = 10000;
+
+    private final EnrollmentJournal enrollmentJournal;
+
+    public JournalController(EnrollmentJournal enrollmentJournal) {
+        this.enrollmentJournal = enrollmentJournal;
+    }
+
+    // enrollment history straight from the journal files, from and to are ISO instants
+    @GetMapping("/enrollments")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<List<JournalRecord>> getEnrollmentEvents(@RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) Long courseId, @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to, @RequestParam(defaultValue = "1000") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(enrollmentJournal.read(studentId, courseId, 
+            from == null ? null : from.toEpochMilli(), to == null ? null : to.toEpochMilli(), limit));
+    }
+}
@@ -0,0 +1,7 @@
+package com.unisystem.university.journal;
+
+public enum JournalEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
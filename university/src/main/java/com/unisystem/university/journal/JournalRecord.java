@@ -0,0 +1,106 @@
+package com.unisystem.university.journal;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import com.unisystem.university.enrollment.EnrollmentChangedEvent;
+import com.unisystem.university.enrollment.EnrollmentChangedEvent.Snapshot;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.Grade;
+
+// one enrollment mutation as stored in the journal
+// fixed size binary layout (big endian):
+//   type (1, ordinal + 1 so an all zero record marks the end of a segment), timestamp millis (8),
+//   enrollment id (8), student id (8), course id (8), semester (4),
+//   old status, new status, old grade, new grade (1 each, ordinal + 1, 0 for null), crc32 of the previous bytes (4)
+// enum ordinals are written to disk: new constants of CourseStatus and Grade must be appended at the end
+public record JournalRecord(JournalEventType type, long timestamp, Long enrollmentId, Long studentId, Long courseId,
+        Integer semester, CourseStatus oldStatus, CourseStatus newStatus, Grade oldGrade, Grade newGrade) {
+
+    public static final int SIZE = 1 + 8 + 8 + 8 + 8 + 4 + 4 + 4;
+    private static final long NULL_ID = -1;
+    private static final int NULL_SEMESTER = Integer.MIN_VALUE;
+
+    // an enrollment moved to another student or course is journaled as a delete and a create
+    // so replaying by student or by course sees it leave one and join the other
+    public static List<JournalRecord> of(EnrollmentChangedEvent event, long timestamp) {
+        Snapshot before = event.before();
+        Snapshot after = event.after();
+        if (before == null) {
+            return List.of(of(JournalEventType.CREATED, timestamp, after, null, after));
+        }
+        if (after == null) {
+            return List.of(of(JournalEventType.DELETED, timestamp, before, before, null));
+        }
+        if (!before.studentId().equals(after.studentId()) || !before.courseId().equals(after.courseId())) {
+            return List.of(of(JournalEventType.DELETED, timestamp, before, before, null),
+                of(JournalEventType.CREATED, timestamp, after, null, after));
+        }
+        return List.of(of(JournalEventType.UPDATED, timestamp, after, before, after));
+    }
+
+    private static JournalRecord of(JournalEventType type, long timestamp, Snapshot keys, Snapshot before, Snapshot after) {
+        return new JournalRecord(type, timestamp, keys.id(), keys.studentId(), keys.courseId(), keys.semester(),
+            before == null ? null : before.status(), after == null ? null : after.status(),
+            before == null ? null : before.grade(), after == null ? null : after.grade());
+    }
+
+    // writes exactly SIZE bytes at the buffer position
+    public void writeTo(ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.put((byte) (type.ordinal() + 1));
+        buffer.putLong(timestamp);
+        buffer.putLong(enrollmentId == null ? NULL_ID : enrollmentId);
+        buffer.putLong(studentId == null ? NULL_ID : studentId);
+        buffer.putLong(courseId == null ? NULL_ID : courseId);
+        buffer.putInt(semester == null ? NULL_SEMESTER : semester);
+        buffer.put(code(oldStatus));
+        buffer.put(code(newStatus));
+        buffer.put(code(oldGrade));
+        buffer.put(code(newGrade));
+        buffer.putInt(crc(buffer, start));
+    }
+
+    // reads the record at the buffer position, null at the end of the written part of a segment
+    // or when the record was torn by a crash before it was synced
+    public static JournalRecord readFrom(ByteBuffer buffer) {
+        if (buffer.remaining() < SIZE) {
+            return null;
+        }
+        int start = buffer.position();
+        byte type = buffer.get(start);
+        if (type <= 0 || type > JournalEventType.values().length || buffer.getInt(start + SIZE - 4) != crc(buffer, start)) {
+            return null;
+        }
+        buffer.get();
+        long timestamp = buffer.getLong();
+        long enrollmentId = buffer.getLong();
+        long studentId = buffer.getLong();
+        long courseId = buffer.getLong();
+        int semester = buffer.getInt();
+        CourseStatus oldStatus = decode(buffer.get(), CourseStatus.values());
+        CourseStatus newStatus = decode(buffer.get(), CourseStatus.values());
+        Grade oldGrade = decode(buffer.get(), Grade.values());
+        Grade newGrade = decode(buffer.get(), Grade.values());
+        buffer.getInt();
+        return new JournalRecord(JournalEventType.values()[type - 1], timestamp, 
+            enrollmentId == NULL_ID ? null : enrollmentId, studentId == NULL_ID ? null : studentId,
+            courseId == NULL_ID ? null : courseId, semester == NULL_SEMESTER ? null : semester,
+            oldStatus, newStatus, oldGrade, newGrade);
+    }
+
+    private static int crc(ByteBuffer buffer, int start) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(start).limit(start + SIZE - 4));
+        return (int) crc.getValue();
+    }
+
+    private static byte code(Enum<?> value) {
+        return (byte) (value == null ? 0 : value.ordinal() + 1);
+    }
+
+    private static <E extends Enum<E>> E decode(byte code, E[] values) {
+        return code <= 0 || code > values.length ? null : values[code - 1];
+    }
+}
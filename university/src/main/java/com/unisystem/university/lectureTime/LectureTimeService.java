@@ -2,20 +2,28 @@ package com.unisystem.university.lectureTime;
 
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.CourseChangedEvent;
 
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
 public class LectureTimeService {
     private LectureTimeRepo lectureTimeRepo;
+    private ScheduleIndex scheduleIndex;
+    private ApplicationEventPublisher eventPublisher;
 
-    public LectureTimeService(LectureTimeRepo lectureTimeRepo){
+    public LectureTimeService(LectureTimeRepo lectureTimeRepo, ScheduleIndex scheduleIndex, 
+            ApplicationEventPublisher eventPublisher){
         this.lectureTimeRepo = lectureTimeRepo;
+        this.scheduleIndex = scheduleIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<LectureTime> getCourseLectureTimes(Course course){
@@ -43,10 +51,19 @@ public class LectureTimeService {
     }
 
     public void deleteLectureTimeById(Long lectureTimeId){
+        Optional<LectureTime> lectureTime = lectureTimeRepo.findById(lectureTimeId);
         lectureTimeRepo.deleteById(lectureTimeId);
+        // keep the course timetable bitmap in sync
+        lectureTime.ifPresent(lecTime -> {
+            scheduleIndex.rebuild(lecTime.getCourse());
+            eventPublisher.publishEvent(new CourseChangedEvent(lecTime.getCourse().getId()));
+        });
     }
 
     public LectureTime addLectureTime(Course course, Day day, LocalTime time){
-        return lectureTimeRepo.save(new LectureTime(course, day, time));
+        LectureTime lectureTime = lectureTimeRepo.save(new LectureTime(course, day, time));
+        scheduleIndex.rebuild(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+        return lectureTime;
     }
 }
@@ -0,0 +1,36 @@
+package com.unisystem.university.lectureTime;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.unisystem.university.courses.Course;
+
+// keeps one weekly slot bitmap per course so conflict checks don't have to
+// walk every lecture time of every enrolled course
+@Component
+public class ScheduleIndex {
+    private final LectureTimeRepo lectureTimeRepo;
+    private final Map<Long, WeeklySlots> courseSlots = new ConcurrentHashMap<>();
+
+    public ScheduleIndex(LectureTimeRepo lectureTimeRepo) {
+        this.lectureTimeRepo = lectureTimeRepo;
+    }
+
+    public WeeklySlots slotsOf(Course course) {
+        if (course.getId() == null) {
+            return WeeklySlots.of(course.getLecturesTime());
+        }
+        return courseSlots.computeIfAbsent(course.getId(), id -> WeeklySlots.of(course.getLecturesTime()));
+    }
+
+    // called whenever the lecture times of a course change
+    public void rebuild(Course course) {
+        courseSlots.put(course.getId(), WeeklySlots.of(lectureTimeRepo.findByCourse(course)));
+    }
+
+    public void evict(Long courseId) {
+        courseSlots.remove(courseId);
+    }
+}
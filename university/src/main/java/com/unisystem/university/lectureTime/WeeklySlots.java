@@ -0,0 +1,98 @@
+package com.unisystem.university.lectureTime;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collection;
+
+// immutable weekly timetable bitmap: one bit per (day, time slot)
+// a lecture occupies the slot its start time falls in, so two lectures
+// conflict when they start in the same slot of the same day
+public final class WeeklySlots {
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int TOTAL_SLOTS = SLOTS_PER_DAY * Day.values().length;
+
+    private static final int WORDS = (TOTAL_SLOTS + 63) / 64;
+
+    public static final WeeklySlots EMPTY = new WeeklySlots(new long[WORDS]);
+
+    private final long[] words;
+
+    private WeeklySlots(long[] words) {
+        this.words = words;
+    }
+
+    public static WeeklySlots of(Collection<LectureTime> lecturesTime) {
+        if (lecturesTime == null || lecturesTime.isEmpty()) {
+            return EMPTY;
+        }
+        long[] words = new long[WORDS];
+        for (LectureTime lecTime : lecturesTime) {
+            if (lecTime.getDay() == null || lecTime.getTime() == null) {
+                continue;
+            }
+            int slot = slotOf(lecTime.getDay(), lecTime.getTime());
+            words[slot >>> 6] |= 1L << slot;
+        }
+        return new WeeklySlots(words);
+    }
+
+    public static int slotOf(Day day, LocalTime time) {
+        return day.ordinal() * SLOTS_PER_DAY + time.toSecondOfDay() / 60 / SLOT_MINUTES;
+    }
+
+    public WeeklySlots or(WeeklySlots other) {
+        long[] merged = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            merged[i] = words[i] | other.words[i];
+        }
+        return new WeeklySlots(merged);
+    }
+
+    public boolean intersects(WeeklySlots other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // first slot set in both bitmaps or -1 if there is no conflict
+    public int firstConflict(WeeklySlots other) {
+        for (int i = 0; i < WORDS; i++) {
+            long common = words[i] & other.words[i];
+            if (common != 0) {
+                return (i << 6) + Long.numberOfTrailingZeros(common);
+            }
+        }
+        return -1;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static Day dayOf(int slot) {
+        return Day.values()[slot / SLOTS_PER_DAY];
+    }
+
+    public static LocalTime timeOf(int slot) {
+        return LocalTime.ofSecondOfDay((long) (slot % SLOTS_PER_DAY) * SLOT_MINUTES * 60);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WeeklySlots other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
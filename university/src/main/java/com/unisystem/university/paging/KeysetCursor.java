@@ -0,0 +1,66 @@
+package com.unisystem.university.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+// position after the last row of a page: the sort key value and the id of that row
+// encoded as an opaque url safe string so clients only pass it back, the value goes last since names can hold ':'
+// the next page is cut with a "(key, id) > (last key, last id)" predicate instead of an offset,
+// so every page is a range scan on a (..., key, id) index whatever page the client is on
+public record KeysetCursor<S extends KeysetSortKey>(S sort, Object value, Long id) {
+    private static final String ID = "id";
+
+    public String encode() {
+        String raw = sort.name() + ":" + id + ":" + (value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // an empty value stands for null
+    public static <S extends KeysetSortKey> KeysetCursor<S> decode(String cursor, S sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException();
+            }
+            // the value is parsed once here instead of failing inside the query
+            Object value = ID.equals(sort.getAttribute()) || parts[2].isEmpty() ? null : sort.parse(parts[2]);
+            return new KeysetCursor<>(sort, value, Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor for sort: " + sort.name());
+        }
+    }
+
+    // rows after this cursor in ascending order, nulls sort first like they do in MySQL
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Predicate after(CriteriaBuilder cb, Path<?> row) {
+        Path<Long> rowId = row.get(ID);
+        if (ID.equals(sort.getAttribute())) {
+            return cb.greaterThan(rowId, id);
+        }
+        Path<Comparable> key = row.get(sort.getAttribute());
+        if (value == null) {
+            return cb.or(cb.isNotNull(key), cb.and(cb.isNull(key), cb.greaterThan(rowId, id)));
+        }
+        Comparable last = (Comparable) value;
+        return cb.or(cb.greaterThan(key, last), cb.and(cb.equal(key, last), cb.greaterThan(rowId, id)));
+    }
+
+    // the order the cursors walk in: the key then the id
+    public static List<Order> orderBy(CriteriaBuilder cb, Path<?> row, KeysetSortKey sort) {
+        List<Order> orders = new ArrayList<>();
+        if (!ID.equals(sort.getAttribute())) {
+            orders.add(cb.asc(row.get(sort.getAttribute())));
+        }
+        orders.add(cb.asc(row.get(ID)));
+        return orders;
+    }
+}
@@ -0,0 +1,13 @@
+package com.unisystem.university.paging;
+
+// a key a listing can be paged by, see KeysetCursor
+// every key is followed by the row id so the order is total, the "id" key sorts by the id alone
+public interface KeysetSortKey {
+    String name();
+
+    // the entity field the key sorts on
+    String getAttribute();
+
+    // reads a cursor value back, throws IllegalArgumentException (or DateTimeParseException) for a bad one
+    Object parse(String value);
+}
@@ -18,6 +18,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays; 
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
@@ -44,10 +46,16 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // the async dispatch that completes a streamed export, the request was authorized when it started
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/courses").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/courses/search").permitAll()
+                // filtered pages run against the database, keep them behind a login (it would match {courseId} below)
+                .requestMatchers(HttpMethod.GET, "/api/courses/filter").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/courses/{courseId}").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/courses/{courseId}/prerequisites").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/courses/{courseId}/prerequisites/all").permitAll()
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .anyRequest().authenticated()
             );
@@ -64,6 +72,7 @@ public class SecurityConfig {
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
+        configuration.setExposedHeaders(Arrays.asList("X-Next-Cursor", "X-Queue-Ticket", "Retry-After", "ETag"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -1,6 +1,9 @@
 package com.unisystem.university.users;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -66,6 +69,14 @@ public class UserService implements UserDetailsService{
         return user;
     }
 
+    // bulk lookup, users that are missing or not students are left out of the map
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public Map<Long, User> getStudentsByIds(Collection<Long> studentIds){
+        return userRepo.findAllById(studentIds).stream()
+            .filter(user -> user.getRole() == Role.STUDENT)
+            .collect(Collectors.toMap(User::getId, user -> user));
+    }
+
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
     public User getAdmin(Long AdminId){
         return getUserByid(AdminId);
@@ -0,0 +1,101 @@
+package com.unisystem.university.academics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.unisystem.university.enrollment.EnrollmentChangedEvent;
+import com.unisystem.university.enrollment.EnrollmentChangedEvent.Snapshot;
+import com.unisystem.university.enrollment.EnrollmentRepository;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.Grade;
+
+@ExtendWith(MockitoExtension.class)
+public class GpaServiceTest {
+    @Mock
+    private EnrollmentRepository mockEnrollmentRepository;
+
+    @InjectMocks
+    private GpaService gpaService;
+
+    // student 1 already has an A and a C in semester 1
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] {1L, 1, Grade.A, 1L});
+        rows.add(new Object[] {1L, 1, Grade.C, 1L});
+        when(mockEnrollmentRepository.countGradedGroupedByStudentSemesterAndGrade(any())).thenReturn(rows);
+    }
+
+    private Snapshot enrollment(Long id, Integer semester, CourseStatus status, Grade grade) {
+        return new Snapshot(id, 1L, 10L + id, semester, status, grade);
+    }
+
+    @Test
+    public void getStudentGpa_LoadsGroupedGrades() {
+        StudentGpa gpa = gpaService.getStudentGpa(1L);
+
+        assertEquals(3.0, gpa.total().gpa());
+        assertEquals(2, gpa.term(1).courses());
+        assertNull(gpaService.getStudentGpa(2L).total().gpa());
+    }
+
+    @Test
+    public void onEnrollmentChanged_GradeChange_UpdatesIncrementally() {
+        Snapshot inProgress = enrollment(3L, 2, CourseStatus.InProgress, null);
+        Snapshot graded = enrollment(3L, 2, CourseStatus.Completed, Grade.B);
+        gpaService.onEnrollmentChanged(new EnrollmentChangedEvent(inProgress, graded));
+
+        StudentGpa gpa = gpaService.getStudentGpa(1L);
+        assertEquals(3.0, gpa.term(2).gpa());
+        assertEquals(3, gpa.total().courses());
+
+        // regrade replaces the old grade instead of adding a second one
+        gpaService.onEnrollmentChanged(new EnrollmentChangedEvent(graded, enrollment(3L, 2, CourseStatus.Completed, Grade.F)));
+        gpa = gpaService.getStudentGpa(1L);
+        assertEquals(0.0, gpa.term(2).gpa());
+        assertEquals(2.0, gpa.total().gpa());
+        assertEquals(3.0, gpa.through(1).gpa());
+    }
+
+    @Test
+    public void onEnrollmentChanged_Dropped_RemovesGrade() {
+        Snapshot graded = enrollment(1L, 1, CourseStatus.Completed, Grade.C);
+        gpaService.onEnrollmentChanged(new EnrollmentChangedEvent(graded, enrollment(1L, 1, CourseStatus.Dropped, Grade.C)));
+
+        StudentGpa gpa = gpaService.getStudentGpa(1L);
+        assertEquals(4.0, gpa.total().gpa());
+        assertEquals(1, gpa.term(1).courses());
+    }
+
+    @Test
+    public void reconcile_ChangeWhileLoading_IsKept() {
+        assertEquals(2, gpaService.getStudentGpa(1L).total().courses());
+
+        // the grade is committed after the grouped query read the table, its event arrives while the query runs
+        Snapshot graded = enrollment(3L, 2, CourseStatus.Completed, Grade.B);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] {1L, 1, Grade.A, 1L});
+        rows.add(new Object[] {1L, 1, Grade.C, 1L});
+        when(mockEnrollmentRepository.countGradedGroupedByStudentSemesterAndGrade(any())).thenAnswer(invocation -> {
+            gpaService.onEnrollmentChanged(new EnrollmentChangedEvent(enrollment(3L, 2, CourseStatus.InProgress, null), graded));
+            return rows;
+        });
+        gpaService.reconcile();
+
+        StudentGpa gpa = gpaService.getStudentGpa(1L);
+        assertEquals(3, gpa.total().courses());
+        assertEquals(3.0, gpa.term(2).gpa());
+    }
+}
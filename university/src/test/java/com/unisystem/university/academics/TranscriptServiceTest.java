@@ -0,0 +1,69 @@
+package com.unisystem.university.academics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.unisystem.university.academics.DTOS.TranscriptResponse;
+import com.unisystem.university.enrollment.EnrollmentChangedEvent;
+import com.unisystem.university.enrollment.EnrollmentChangedEvent.Snapshot;
+import com.unisystem.university.enrollment.EnrollmentRepository;
+import com.unisystem.university.enrollment.DTOS.StudentEnrollmentsResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.Grade;
+import com.unisystem.university.users.UserService;
+
+@ExtendWith(MockitoExtension.class)
+public class TranscriptServiceTest {
+    @Mock
+    private EnrollmentRepository mockEnrollmentRepository;
+
+    @Mock
+    private UserService mockUserService;
+
+    private TranscriptService transcriptService;
+
+    @BeforeEach
+    void setUp() {
+        transcriptService = new TranscriptService(mockEnrollmentRepository, mockUserService, 100);
+        when(mockEnrollmentRepository.findTranscriptRows(1L)).thenReturn(List.of(
+            new StudentEnrollmentsResponse(1L, 10L, "Math", LocalDate.now(), Grade.A, 1, CourseStatus.Completed),
+            new StudentEnrollmentsResponse(2L, 11L, "Physics", LocalDate.now(), Grade.C, 1, CourseStatus.Completed),
+            new StudentEnrollmentsResponse(3L, 12L, "Chemistry", LocalDate.now(), Grade.B, 2, CourseStatus.Completed),
+            new StudentEnrollmentsResponse(4L, 13L, "Biology", LocalDate.now(), null, 2, CourseStatus.InProgress)));
+    }
+
+    @Test
+    public void getTranscript_GroupsBySemesterWithGpa() {
+        TranscriptResponse transcript = transcriptService.getTranscript(1L);
+
+        assertEquals(2, transcript.getSemesters().size());
+        assertEquals(3.0, transcript.getSemesters().get(0).getTermGpa());
+        assertEquals(2, transcript.getSemesters().get(1).getCourses().size());
+        assertEquals(3.0, transcript.getSemesters().get(1).getCumulativeGpa());
+        assertEquals(3, transcript.getGradedCourses());
+    }
+
+    @Test
+    public void getTranscript_CachedUntilEnrollmentChanges() {
+        TranscriptResponse first = transcriptService.getTranscript(1L);
+        assertSame(first, transcriptService.getTranscript(1L));
+        verify(mockEnrollmentRepository, times(1)).findTranscriptRows(1L);
+
+        Snapshot enroll = new Snapshot(4L, 1L, 13L, 2, CourseStatus.InProgress, null);
+        transcriptService.onEnrollmentChanged(new EnrollmentChangedEvent(null, enroll));
+        transcriptService.getTranscript(1L);
+        verify(mockEnrollmentRepository, times(2)).findTranscriptRows(1L);
+    }
+}
@@ -0,0 +1,69 @@
+package com.unisystem.university.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.unisystem.university.admission.DTOS.TicketResponse;
+
+import jakarta.persistence.EntityNotFoundException;
+
+public class WaitingRoomTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private void sleep(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    public void admit_QueuesBeyondTheRateAndAdmitsInArrivalOrder() {
+        // one admission per second, no burst, tickets expire after 5 seconds without a poll
+        WaitingRoom room = new WaitingRoom(1, 1, 5000, 100, now::get);
+
+        assertTrue(room.admit(null).getAdmitted());
+
+        TicketResponse first = room.admit(null);
+        TicketResponse second = room.admit(null);
+        assertFalse(first.getAdmitted());
+        assertEquals(1L, first.getPosition());
+        assertEquals(2L, second.getPosition());
+        assertEquals(2L, second.getEstimatedWaitSeconds());
+
+        // a newcomer without a ticket doesn't jump the line even when a token is free
+        sleep(1);
+        TicketResponse third = room.admit(null);
+        assertFalse(third.getAdmitted());
+        assertTrue(room.status(first.getTicket()).getAdmitted());
+        assertEquals(1L, room.admit(second.getTicket()).getPosition());
+
+        // redeeming the admitted ticket lets the request through once
+        assertTrue(room.admit(first.getTicket()).getAdmitted());
+        assertFalse(room.admit(first.getTicket()).getAdmitted());
+    }
+
+    @Test
+    public void admit_DropsAbandonedTicketsAndBoundsTheLine() {
+        WaitingRoom room = new WaitingRoom(1, 1, 5000, 1, now::get);
+
+        assertTrue(room.admit(null).getAdmitted());
+        TicketResponse waiting = room.admit(null);
+        TicketResponse rejected = room.admit(null);
+        assertNull(rejected.getTicket());
+        assertFalse(rejected.getAdmitted());
+
+        // the admitted ticket is never redeemed, its token goes back to the bucket
+        sleep(1);
+        assertTrue(room.status(waiting.getTicket()).getAdmitted());
+        sleep(6);
+        assertThrows(EntityNotFoundException.class, () -> room.status(waiting.getTicket()));
+        assertEquals(0, room.waitingCount());
+        assertTrue(room.admit(null).getAdmitted());
+    }
+}
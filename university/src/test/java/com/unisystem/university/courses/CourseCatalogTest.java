@@ -0,0 +1,133 @@
+package com.unisystem.university.courses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unisystem.university.courses.DTOS.CourseResponse;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseCatalogTest {
+    @Mock
+    private CourseRepository mockCourseRepository;
+
+    @Mock
+    private PrerequisiteGraph mockPrerequisiteGraph;
+
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
+    private CourseCatalog catalog;
+    private User lecturer = new User(1L, "lecturer", "lec@gmail.com", "pass", Role.LECTURER);
+    private Course math1;
+    private Course math2;
+
+    // math-2 requires math-1
+    @BeforeEach
+    void setUp() {
+        catalog = new CourseCatalog(mockCourseRepository, mockPrerequisiteGraph, 
+            new TransactionTemplate(mockTransactionManager));
+        math1 = course(1L, "Math-1");
+        math2 = course(2L, "Math-2");
+        math2.setPrerequisites(new HashSet<>(Set.of(math1)));
+        when(mockCourseRepository.findAll()).thenReturn(List.of(math1, math2));
+    }
+
+    private Course course(Long id, String name) {
+        LocalDate start = LocalDate.of(2026, 2, 1);
+        return new Course(id, name, start, null, start, start.plusMonths(4), start.minusMonths(1), 
+            start.minusDays(1), lecturer, null, new HashSet<>(), true);
+    }
+
+    @Test
+    public void refresh_ReloadsCourseAndItsDependents() {
+        assertEquals(List.of("Math-1"), catalog.get(2L).get().getPrerequisiteCoursesNames());
+
+        // Act: math-1 renamed
+        Course renamed = course(1L, "Calculus-1");
+        Course math2Reloaded = course(2L, "Math-2");
+        math2Reloaded.setPrerequisites(new HashSet<>(Set.of(renamed)));
+        when(mockCourseRepository.findDetailsByIdIn(any())).thenReturn(List.of(renamed, math2Reloaded));
+        catalog.onCourseChanged(new CourseChangedEvent(1L));
+
+        // Assert
+        assertEquals("Calculus-1", catalog.get(1L).get().getName());
+        assertEquals(List.of("Calculus-1"), catalog.get(2L).get().getPrerequisiteCoursesNames());
+        assertEquals(List.of(1L, 2L), catalog.getAll().stream().map(CourseResponse::getId).toList());
+    }
+
+    @Test
+    public void versions_OnlyBumpedByChanges() {
+        long catalogVersion = catalog.getVersion();
+        long math1Version = catalog.getVersion(1L).get();
+        long math2Version = catalog.getVersion(2L).get();
+
+        // Act: a reconcile that finds nothing new
+        catalog.rebuild();
+        assertEquals(catalogVersion, catalog.getVersion());
+        assertEquals(math1Version, catalog.getVersion(1L).get());
+
+        // Act: math-2 changed
+        Course math2Edited = course(2L, "Math-2 (new)");
+        math2Edited.setPrerequisites(new HashSet<>(Set.of(math1)));
+        when(mockCourseRepository.findDetailsByIdIn(any())).thenReturn(List.of(math2Edited));
+        catalog.refresh(2L);
+
+        // Assert
+        assertNotEquals(catalogVersion, catalog.getVersion());
+        assertNotEquals(math2Version, catalog.getVersion(2L).get());
+        assertEquals(math1Version, catalog.getVersion(1L).get());
+    }
+
+    @Test
+    public void rebuild_BumpsTheDependentsOfAChangedCourse() {
+        long math1Version = catalog.getVersion(1L).get();
+        long math2Version = catalog.getVersion(2L).get();
+
+        // Act: math-1 moved to a later end date, math-2 itself looks the same
+        Course math1Moved = course(1L, "Math-1");
+        math1Moved.setEndDate(math1Moved.getEndDate().plusWeeks(2));
+        Course math2Reloaded = course(2L, "Math-2");
+        math2Reloaded.setPrerequisites(new HashSet<>(Set.of(math1Moved)));
+        when(mockCourseRepository.findAll()).thenReturn(List.of(math1Moved, math2Reloaded));
+        catalog.rebuild();
+
+        // Assert: math-2's prerequisite list changed, so its ETag must change with it
+        assertNotEquals(math1Version, catalog.getVersion(1L).get());
+        assertNotEquals(math2Version, catalog.getVersion(2L).get());
+    }
+
+    @Test
+    public void refresh_DropsDeletedCourse() {
+        assertEquals(2, catalog.getAll().size());
+
+        // Act: math-2 is gone from the database
+        when(mockCourseRepository.findDetailsByIdIn(any())).thenReturn(List.of());
+        catalog.refresh(2L);
+
+        // Assert
+        assertTrue(catalog.get(2L).isEmpty());
+        assertEquals(1, catalog.getAll().size());
+        // readers share the snapshot so it must be read-only
+        assertThrows(UnsupportedOperationException.class, 
+            () -> catalog.get(1L).get().getLecturesTime().add(null));
+    }
+}
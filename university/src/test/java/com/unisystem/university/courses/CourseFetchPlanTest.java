@@ -0,0 +1,121 @@
+package com.unisystem.university.courses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unisystem.university.courses.DTOS.CourseResponse;
+import com.unisystem.university.lectureTime.Day;
+import com.unisystem.university.lectureTime.LectureTime;
+import com.unisystem.university.lectureTime.ScheduleIndex;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// counts the statements each read needs to build its CourseResponses, it must not grow with the number of courses
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CourseService.class, CourseCatalog.class, PrerequisiteGraph.class, SeatAllocator.class, ScheduleIndex.class})
+public class CourseFetchPlanTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    private Statistics statistics;
+    private User lecturer;
+    private List<Course> courses = new ArrayList<>();
+
+    // 8 courses of 2 lecturers with 2 lecture times each, every course requires the 2 before it
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        lecturer = entityManager.persist(new User(null, "lecturer", "lec@gmail.com", "pass", Role.LECTURER));
+        User otherLecturer = entityManager.persist(new User(null, "other", "other@gmail.com", "pass", Role.LECTURER));
+        LocalDate start = LocalDate.of(2026, 2, 1);
+        for (int i = 0; i < 8; i++) {
+            Course course = new Course("Course-" + i, start, start.plusMonths(4), start.minusMonths(1), 
+                start.minusDays(1), i % 2 == 0 ? lecturer : otherLecturer, true);
+            course.setPrerequisites(new HashSet<>());
+            for (int j = Math.max(0, i - 2); j < i; j++) {
+                course.addPrerequisite(courses.get(j));
+            }
+            courses.add(entityManager.persist(course));
+            entityManager.persist(new LectureTime(course, Day.Monday, LocalTime.of(8 + i, 0)));
+            entityManager.persist(new LectureTime(course, Day.Tuesday, LocalTime.of(8 + i, 0)));
+        }
+        entityManager.flush();
+    }
+
+    // runs the read on an empty persistence context and builds the responses, so lazy loads are counted too
+    private long statementsOf(Supplier<Collection<Course>> read) {
+        entityManager.clear();
+        statistics.clear();
+        read.get().forEach(CourseResponse::new);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long statementsOf(Runnable read) {
+        entityManager.clear();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    public void catalogList_TwoStatements() {
+        assertEquals(2, statementsOf(() -> courseService.getAllCourses()));
+        assertEquals(2, statementsOf(() -> courseCatalog.rebuild()));
+        assertEquals(8, courseCatalog.getAll().size());
+        assertEquals(List.of("Course-5", "Course-6"), courseCatalog.get(courses.get(7).getId()).get()
+            .getPrerequisiteCoursesNames().stream().sorted().toList());
+    }
+
+    @Test
+    public void detail_TwoStatements() {
+        courseCatalog.rebuild();
+        // course 3 and the two courses requiring it
+        assertEquals(2, statementsOf(() -> courseCatalog.refresh(courses.get(3).getId())));
+        assertEquals(2, courseCatalog.get(courses.get(3).getId()).get().getLecturesTime().size());
+    }
+
+    @Test
+    public void lecturerView_TwoStatements() {
+        assertEquals(2, statementsOf(() -> courseService.getLecturerCourses(lecturer)));
+    }
+
+    @Test
+    public void prerequisites_ThreeStatements() {
+        // the existence check, the prerequisites and their own prerequisites
+        assertEquals(3, statementsOf(() -> courseService.getCoursePrerequisite(courses.get(7).getId())));
+        // the prerequisite graph is loaded once at first use, not per request
+        courseService.getCoursePrerequisiteClosure(courses.get(7).getId());
+        assertEquals(2, statementsOf(() -> courseService.getCoursePrerequisiteClosure(courses.get(7).getId())));
+    }
+}
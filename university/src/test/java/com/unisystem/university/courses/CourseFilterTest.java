@@ -0,0 +1,126 @@
+package com.unisystem.university.courses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unisystem.university.courses.DTOS.CourseFilter;
+import com.unisystem.university.courses.DTOS.CoursePage;
+import com.unisystem.university.courses.DTOS.CourseResponse;
+import com.unisystem.university.courses.Types.CourseSortKey;
+import com.unisystem.university.lectureTime.ScheduleIndex;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CourseService.class, PrerequisiteGraph.class, SeatAllocator.class, ScheduleIndex.class})
+public class CourseFilterTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseService courseService;
+
+    private User mina;
+    private User sara;
+    private List<Course> courses = new ArrayList<>();
+
+    // the same 4 courses in the spring terms of 2024, 2025 and 2026, only 2026 registers today
+    // in every term: Algebra (mina), Biology (sara, full), Chemistry (sara, inactive), Databases (mina, seats left)
+    @BeforeEach
+    void setUp() {
+        mina = entityManager.persist(new User(null, "Mina", "mina@gmail.com", "pass", Role.LECTURER));
+        sara = entityManager.persist(new User(null, "Sara", "sara@gmail.com", "pass", Role.LECTURER));
+        for (int year = 2024; year <= 2026; year++) {
+            course("Algebra " + year, year, mina, true, null);
+            course("Biology " + year, year, sara, true, 30);
+            course("Chemistry " + year, year, sara, false, null);
+            course("Databases " + year, year, mina, true, 10);
+        }
+        entityManager.flush();
+    }
+
+    // registration runs through january, the course from february to june
+    private void course(String name, int year, User lecturer, boolean active, Integer takenOfThirty) {
+        Course course = new Course(name, LocalDate.of(year, 2, 1), LocalDate.of(year, 6, 1), 
+            LocalDate.of(year, 1, 1), LocalDate.of(year, 1, 31), lecturer, active);
+        course.setPrerequisites(new HashSet<>());
+        courses.add(entityManager.persist(course));
+        if (takenOfThirty != null) {
+            entityManager.persist(new CourseSeats(course.getId(), 30, takenOfThirty));
+        }
+    }
+
+    private static List<String> names(CoursePage page) {
+        return page.getItems().stream().map(CourseResponse::getName).toList();
+    }
+
+    private static CourseFilter filter(Boolean isActive, LocalDate openOn, Long lecturerId, Boolean hasFreeSeats) {
+        return new CourseFilter(isActive, openOn, null, null, lecturerId, hasFreeSeats);
+    }
+
+    @Test
+    public void getCoursePage_CombinesFilters() {
+        assertEquals(List.of("Algebra 2026", "Databases 2026"), 
+            names(courseService.getCoursePage(filter(true, TODAY, null, true), CourseSortKey.name, null, null)));
+        assertEquals(List.of("Biology 2026"), 
+            names(courseService.getCoursePage(filter(true, TODAY, null, false), CourseSortKey.name, null, null)));
+        assertEquals(List.of("Algebra 2024", "Algebra 2025", "Algebra 2026", "Databases 2024", "Databases 2025", 
+            "Databases 2026"), 
+            names(courseService.getCoursePage(filter(null, null, mina.getId(), null), CourseSortKey.name, null, null)));
+
+        CourseFilter year2025 = new CourseFilter(null, null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), 
+            sara.getId(), null);
+        assertEquals(List.of("Biology 2025", "Chemistry 2025"), 
+            names(courseService.getCoursePage(year2025, CourseSortKey.name, null, null)));
+
+        CourseFilter backwards = new CourseFilter(null, null, LocalDate.of(2025, 1, 1), LocalDate.of(2024, 1, 1), 
+            null, null);
+        assertThrows(IllegalArgumentException.class, 
+            () -> courseService.getCoursePage(backwards, CourseSortKey.id, null, null));
+    }
+
+    @Test
+    public void getCoursePage_KeysetPagesCoverEveryCourseOnce() {
+        for (CourseSortKey sort : CourseSortKey.values()) {
+            List<Long> seen = new ArrayList<>();
+            String after = null;
+            do {
+                CoursePage page = courseService.getCoursePage(filter(null, null, null, null), sort, after, 5);
+                page.getItems().forEach(course -> seen.add(course.getId()));
+                after = page.getNextCursor();
+            } while (after != null);
+
+            assertEquals(courses.size(), seen.size(), sort.name());
+            assertEquals(courses.size(), new HashSet<>(seen).size(), sort.name());
+        }
+
+        // the last page has no cursor, a cursor of another sort is refused
+        CoursePage first = courseService.getCoursePage(filter(null, null, null, null), CourseSortKey.name, null, 10);
+        assertEquals("Algebra 2024", first.getItems().get(0).getName());
+        CoursePage last = courseService.getCoursePage(filter(null, null, null, null), CourseSortKey.name, 
+            first.getNextCursor(), 10);
+        assertEquals(List.of("Databases 2025", "Databases 2026"), names(last));
+        assertNull(last.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> courseService.getCoursePage(filter(null, null, null, null), 
+            CourseSortKey.startDate, first.getNextCursor(), 10));
+    }
+}
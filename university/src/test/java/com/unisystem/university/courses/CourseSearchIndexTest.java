@@ -0,0 +1,104 @@
+package com.unisystem.university.courses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unisystem.university.courses.DTOS.CourseResponse;
+import com.unisystem.university.courses.DTOS.CourseSearchResponse;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+@ExtendWith(MockitoExtension.class)
+public class CourseSearchIndexTest {
+    @Mock
+    private CourseRepository mockCourseRepository;
+
+    @Mock
+    private PrerequisiteGraph mockPrerequisiteGraph;
+
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
+    private CourseCatalog catalog;
+    private CourseSearchIndex searchIndex;
+    private User mina = new User(1L, "Mina Maged", "mina@gmail.com", "pass", Role.LECTURER);
+    private User sara = new User(2L, "Sara Adel", "sara@gmail.com", "pass", Role.LECTURER);
+
+    @BeforeEach
+    void setUp() {
+        catalog = new CourseCatalog(mockCourseRepository, mockPrerequisiteGraph, 
+            new TransactionTemplate(mockTransactionManager));
+        searchIndex = new CourseSearchIndex(catalog);
+        List<Course> courses = new ArrayList<>();
+        courses.add(course(1L, "Calculus I", mina));
+        courses.add(course(2L, "Calculus II", mina));
+        courses.add(course(3L, "Linear Algebra", sara));
+        courses.add(course(4L, "Introduction to Calculus", sara));
+        courses.add(course(5L, "Databases", sara));
+        // enough courses for a change to be applied incrementally instead of rebuilding the index
+        for (long id = 6; id <= 25; id++) {
+            courses.add(course(id, "Elective " + id, mina));
+        }
+        when(mockCourseRepository.findAll()).thenReturn(courses);
+    }
+
+    private Course course(Long id, String name, User lecturer) {
+        LocalDate start = LocalDate.of(2026, 2, 1);
+        return new Course(id, name, start, null, start, start.plusMonths(4), start.minusMonths(1), 
+            start.minusDays(1), lecturer, null, new HashSet<>(), true);
+    }
+
+    private List<Long> ids(CourseSearchResponse response) {
+        return response.getCourses().stream().map(CourseResponse::getId).toList();
+    }
+
+    @Test
+    public void search_RanksPrefixesAndToleratesTypos() {
+        // names starting with the query first, then the word match inside a name
+        assertEquals(List.of(1L, 2L, 4L), ids(searchIndex.search("calc", 0, null)));
+        // a typo and an unfinished last word
+        assertEquals(List.of(1L, 2L, 4L), ids(searchIndex.search("Calculsu", 0, null)).stream().sorted().toList());
+        assertEquals(List.of(3L), ids(searchIndex.search("linaer algeb", 0, null)));
+        // lecturer names are indexed too
+        assertEquals(List.of(3L, 4L, 5L), ids(searchIndex.search("sara", 0, null)).stream().sorted().toList());
+
+        // paging keeps the total
+        CourseSearchResponse secondPage = searchIndex.search("calc", 1, 2);
+        assertEquals(3, secondPage.getTotal());
+        assertEquals(List.of(4L), ids(secondPage));
+        assertThrows(IllegalArgumentException.class, () -> searchIndex.search(" ", 0, null));
+        // page * limit must not wrap around past the result cap
+        assertThrows(IllegalArgumentException.class, () -> searchIndex.search("calc", Integer.MAX_VALUE, 20));
+    }
+
+    @Test
+    public void search_FollowsCatalogChanges() {
+        assertEquals(List.of(5L), ids(searchIndex.search("databases", 0, null)));
+
+        // Act: databases renamed, calculus II deleted
+        when(mockCourseRepository.findDetailsByIdIn(any())).thenReturn(List.of(course(5L, "Database Systems", sara)));
+        catalog.refresh(5L);
+        when(mockCourseRepository.findDetailsByIdIn(any())).thenReturn(List.of());
+        catalog.refresh(2L);
+
+        // Assert
+        assertEquals(List.of(5L), ids(searchIndex.search("database sys", 0, null)));
+        assertEquals(List.of(1L, 4L), ids(searchIndex.search("calculus", 0, null)));
+        assertEquals(24, searchIndex.size());
+    }
+}
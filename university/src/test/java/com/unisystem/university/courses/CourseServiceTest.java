@@ -23,7 +23,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.unisystem.university.lectureTime.ScheduleIndex;
 import com.unisystem.university.users.Role;
 import com.unisystem.university.users.User;
 
@@ -34,6 +36,18 @@ public class CourseServiceTest {
     @Mock
     private CourseRepository mockCourseRepository;
 
+    @Mock
+    private PrerequisiteGraph mockPrerequisiteGraph;
+
+    @Mock
+    private SeatAllocator mockSeatAllocator;
+
+    @Mock
+    private ApplicationEventPublisher mockEventPublisher;
+
+    @Mock
+    private ScheduleIndex mockScheduleIndex;
+
     @InjectMocks
     private CourseService courseService; 
 
@@ -280,6 +294,59 @@ public class CourseServiceTest {
         verify(mockCourseRepository, times(1)).deleteById(COURSE_ID);
     }
 
+    // --- Prerequisite Tests ---
+
+    @Test
+    public void addPrerequisite_Cycle_ThrowsException() {
+        // Arrange
+        Course requiredCourse = new Course("Intro to CS", START_DATE, END_DATE,
+                                 REG_START_DATE, REG_END_DATE, mockLecturer, true);
+        requiredCourse.setId(2L);
+        when(mockCourseRepository.findById(COURSE_ID)).thenReturn(Optional.of(mockCourse));
+        when(mockCourseRepository.findById(2L)).thenReturn(Optional.of(requiredCourse));
+        when(mockPrerequisiteGraph.hasDirect(COURSE_ID, 2L)).thenReturn(false);
+        when(mockPrerequisiteGraph.tryAddEdge(COURSE_ID, 2L)).thenReturn(false);
+
+        // Act & Assert
+        Exception exception = assertThrows(RuntimeException.class, () -> {
+            courseService.addPrerequisite(COURSE_ID, 2L);
+        });
+
+        assertTrue(exception.getMessage().contains("prerequisite cycle"));
+        verify(mockCourseRepository, never()).save(any(Course.class));
+    }
+
+    @Test
+    public void deleteCourseById_RemovesCourseFromPrerequisiteGraph() {
+        // Act
+        courseService.deleteCourseById(COURSE_ID);
+
+        // Assert
+        verify(mockPrerequisiteGraph).removeCourse(COURSE_ID);
+    }
+
+    @Test
+    public void deleteCourseById_EvictsTimetableBitmap() {
+        // Act
+        courseService.deleteCourseById(COURSE_ID);
+
+        // Assert
+        verify(mockScheduleIndex).evict(COURSE_ID);
+    }
+
+    // --- Capacity Tests ---
+
+    @Test
+    public void setCapacity_Negative_ThrowsException() {
+        // Act & Assert
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            courseService.setCapacity(COURSE_ID, -1);
+        });
+
+        assertEquals("Course capacity can not be negative.", exception.getMessage());
+        verify(mockSeatAllocator, never()).setCapacity(any(), any());
+    }
+
     // --- Course Editing Tests ---
     
     @Test
@@ -1,6 +1,10 @@
 package com.unisystem.university.courses;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -8,11 +12,13 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,7 +31,11 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.unisystem.university.courses.DTOS.CourseCreationReq;
+import com.unisystem.university.courses.DTOS.CourseFilter;
+import com.unisystem.university.courses.DTOS.CoursePage;
+import com.unisystem.university.courses.DTOS.CourseResponse;
 import com.unisystem.university.courses.DTOS.CourseUpdateReq;
+import com.unisystem.university.courses.Types.CourseSortKey;
 import com.unisystem.university.secutity.JwtUtils;
 import com.unisystem.university.secutity.SecurityConfig;
 import com.unisystem.university.users.Role;
@@ -44,6 +54,12 @@ public class CoursesControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private CourseCatalog courseCatalog;
+
+    @MockitoBean
+    private CourseSearchIndex courseSearchIndex;
+
     @MockitoBean
     private JwtUtils jwtUtils;
 
@@ -99,6 +115,45 @@ public class CoursesControllerTest {
             .andExpect(jsonPath("$.name").value(courseName));
     }
     
+    @Test
+    public void getCourseById_NotModified_Test() throws Exception{
+        // Arrange
+        when(courseCatalog.getVersion(1l)).thenReturn(Optional.of(7l));
+
+        // Act & Asserts
+        mockmvc.perform(get("/api/courses/1").header("If-None-Match", "\"course-1-7\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", "\"course-1-7\""));
+        verify(courseCatalog, never()).get(anyLong());
+        verify(courseService, never()).getCourseById(anyLong());
+    }
+
+    @Test
+    @WithMockUser
+    public void filterCourses_Test() throws Exception {
+        // Arrange
+        Course course = new Course(courseID, courseName, endDate, startDate, 
+                regStartDate, endDate, regEndDate, endDate, lecturer, 
+                null, null, true);
+        CourseFilter filter = new CourseFilter(true, regStartDate, null, null, null, true);
+        when(courseService.getCoursePage(filter, CourseSortKey.name, null, 1))
+            .thenReturn(new CoursePage(List.of(new CourseResponse(course)), "next"));
+
+        // Act & Asserts
+        mockmvc.perform(get("/api/courses/filter").param("isActive", "true").param("hasFreeSeats", "true")
+                .param("registrationOpenOn", regStartDate.toString()).param("sort", "name").param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Next-Cursor", "next"))
+            .andExpect(jsonPath("$[0].name").value(courseName));
+    }
+
+    @Test
+    public void filterCourses_RequiresLogin() throws Exception {
+        mockmvc.perform(get("/api/courses/filter"))
+            .andExpect(status().is4xxClientError());
+        verify(courseService, never()).getCoursePage(any(), eq(CourseSortKey.id), any(), any());
+    }
+
     @Test
     @WithMockUser
     public void getLecturerCourses_test() throws Exception {
@@ -0,0 +1,95 @@
+package com.unisystem.university.courses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class PrerequisiteGraphTest {
+    @Mock
+    private CourseRepository mockCourseRepository;
+
+    @InjectMocks
+    private PrerequisiteGraph graph;
+
+    private List<Object[]> edges = new ArrayList<>();
+
+    // 3 requires 2, 2 requires 1
+    @BeforeEach
+    void setUp() {
+        edges.add(new Object[] {3L, 2L});
+        edges.add(new Object[] {2L, 1L});
+        when(mockCourseRepository.findAllPrerequisiteEdges()).thenReturn(edges);
+    }
+
+    @Test
+    public void closureOf_ReturnsTransitivePrerequisites() {
+        assertEquals(Set.of(2L, 1L), graph.closureOf(3L));
+        assertEquals(Set.of(1L), graph.closureOf(2L));
+        assertTrue(graph.closureOf(1L).isEmpty());
+    }
+
+    @Test
+    public void tryAddEdge_RefusesCycle() {
+        assertFalse(graph.tryAddEdge(1L, 3L));
+        assertFalse(graph.tryAddEdge(1L, 1L));
+        assertFalse(graph.tryAddEdge(3L, 2L)); // already a direct prerequisite
+    }
+
+    @Test
+    public void tryAddEdge_UpdatesDependentsClosure() {
+        // Act: 1 now requires 4
+        assertTrue(graph.tryAddEdge(1L, 4L));
+
+        // Assert
+        assertEquals(Set.of(2L, 1L, 4L), graph.closureOf(3L));
+        assertTrue(graph.wouldCreateCycle(4L, 3L));
+    }
+
+    @Test
+    public void removeEdge_RecomputesDependentsClosure() {
+        // Act
+        graph.removeEdge(2L, 1L);
+
+        // Assert
+        assertEquals(Set.of(2L), graph.closureOf(3L));
+        assertFalse(graph.wouldCreateCycle(1L, 3L));
+    }
+
+    @Test
+    public void removeCourse_DropsItFromEveryClosure() {
+        // Act
+        graph.removeCourse(2L);
+
+        // Assert
+        assertTrue(graph.closureOf(3L).isEmpty());
+        assertEquals(Set.of(), graph.directDependents(1L));
+    }
+
+    @Test
+    public void closureOf_CycleInStoredEdges_IsBroken() {
+        // saved before cycles were refused: 1 requires 3, and 4 requires itself
+        edges.add(new Object[] {1L, 3L});
+        edges.add(new Object[] {4L, 4L});
+
+        // Assert: the walk ends and no course requires itself
+        for (long courseId = 1; courseId <= 4; courseId++) {
+            assertFalse(graph.closureOf(courseId).contains(courseId));
+        }
+        assertTrue(graph.closureOf(4L).isEmpty());
+        assertFalse(graph.tryAddEdge(1L, 1L));
+        assertTrue(graph.tryAddEdge(5L, 3L));
+    }
+}
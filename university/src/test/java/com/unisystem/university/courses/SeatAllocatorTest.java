@@ -0,0 +1,114 @@
+package com.unisystem.university.courses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// every reservation commits on its own like it does behind the enrollment endpoints
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SeatAllocator.class)
+public class SeatAllocatorTest {
+    private static final Long COURSE_ID = 1L;
+
+    @Autowired
+    private SeatAllocator seatAllocator;
+
+    @Autowired
+    private CourseSeatsRepository seatsRepo;
+
+    @AfterEach
+    void tearDown() {
+        seatsRepo.deleteAll();
+        seatAllocator.evict(COURSE_ID);
+    }
+
+    private int taken() {
+        return seatsRepo.findById(COURSE_ID).orElseThrow().getTaken();
+    }
+
+    @Test
+    public void tryReserve_ConcurrentRequests_NeverOversell() throws Exception {
+        seatsRepo.save(new CourseSeats(COURSE_ID, 10, 0));
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                Callable<Integer> attempts = () -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    int granted = 0;
+                    for (int attempt = 0; attempt < 10; attempt++) {
+                        if (seatAllocator.tryReserve(COURSE_ID)) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                };
+                results.add(pool.submit(attempts));
+            }
+            start.countDown();
+
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(10, granted);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(10, taken());
+        assertFalse(seatAllocator.hasFreeSeat(COURSE_ID));
+    }
+
+    @Test
+    public void tryReserve_MoreSeatsThanLeft_GrantsWhatIsLeft() {
+        seatsRepo.save(new CourseSeats(COURSE_ID, 5, 2));
+
+        assertEquals(3, seatAllocator.tryReserve(COURSE_ID, 4));
+
+        assertEquals(5, taken());
+        assertEquals(0, seatAllocator.tryReserve(COURSE_ID, 1));
+    }
+
+    @Test
+    public void release_FreesASeatForTheNextRequest() {
+        seatsRepo.save(new CourseSeats(COURSE_ID, 1, 0));
+        assertTrue(seatAllocator.tryReserve(COURSE_ID));
+        assertFalse(seatAllocator.tryReserve(COURSE_ID));
+
+        seatAllocator.release(COURSE_ID);
+
+        assertEquals(0, taken());
+        assertTrue(seatAllocator.tryReserve(COURSE_ID));
+    }
+
+    @Test
+    public void tryReserve_NoCapacity_IsUnlimited() {
+        assertEquals(100, seatAllocator.tryReserve(COURSE_ID, 100));
+        assertTrue(seatAllocator.hasFreeSeat(COURSE_ID));
+    }
+}
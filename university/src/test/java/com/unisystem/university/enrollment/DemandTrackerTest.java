@@ -0,0 +1,95 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.unisystem.university.courses.CourseRepository;
+import com.unisystem.university.courses.CourseSeats;
+import com.unisystem.university.courses.CourseSeatsRepository;
+import com.unisystem.university.enrollment.DTOS.CourseDemandResponse;
+import com.unisystem.university.enrollment.DTOS.DemandLeaderboardResponse;
+import com.unisystem.university.enrollment.EnrollmentChangedEvent.Snapshot;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class DemandTrackerTest {
+    @Mock
+    private CourseRepository mockCourseRepository;
+
+    @Mock
+    private CourseSeatsRepository mockCourseSeatsRepository;
+
+    private DemandTracker tracker;
+    private long nextId = 1;
+
+    @BeforeEach
+    public void setUp() {
+        tracker = new DemandTracker(mockCourseRepository, mockCourseSeatsRepository, 2);
+        when(mockCourseRepository.findAllById(any())).thenReturn(List.of());
+        when(mockCourseSeatsRepository.findAllById(any())).thenReturn(List.of(new CourseSeats(20L, 30, 4)));
+    }
+
+    private Snapshot snapshot(Long courseId, CourseStatus status) {
+        return new Snapshot(nextId++, nextId, courseId, 1, status, null);
+    }
+
+    private void enroll(Long courseId, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.onEnrollmentChanged(new EnrollmentChangedEvent(null, snapshot(courseId, CourseStatus.InProgress)));
+        }
+    }
+
+    private List<Long> rankedIds(DemandLeaderboardResponse leaderboard) {
+        return leaderboard.getCourses().stream().map(CourseDemandResponse::getCourseId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void refresh_RanksByNetEnrollmentsAndKeepsTopK() {
+        enroll(10L, 3);
+        enroll(20L, 5);
+        enroll(30L, 1);
+
+        // two drops bring course 20 level with course 10, it stays ahead on its more recent enrollments
+        Snapshot active = snapshot(20L, CourseStatus.InProgress);
+        Snapshot dropped = new Snapshot(active.id(), active.studentId(), 20L, 1, CourseStatus.Dropped, null);
+        tracker.onEnrollmentChanged(new EnrollmentChangedEvent(active, dropped));
+        tracker.onEnrollmentChanged(new EnrollmentChangedEvent(snapshot(20L, CourseStatus.InProgress), null));
+
+        tracker.refresh();
+        DemandLeaderboardResponse leaderboard = tracker.getLeaderboard(null);
+
+        assertEquals(List.of(20L, 10L), rankedIds(leaderboard));
+        CourseDemandResponse first = leaderboard.getCourses().get(0);
+        assertEquals(5L, first.getEnrolledLast5m());
+        assertEquals(2L, first.getDroppedLastHour());
+        assertEquals(30, first.getCapacity());
+        assertEquals(List.of(20L), rankedIds(tracker.getLeaderboard(1)));
+    }
+
+    @Test
+    public void onEnrollmentChanged_MoveCountsOnBothCoursesAndGradingIsIgnored() {
+        Snapshot before = snapshot(10L, CourseStatus.InProgress);
+        tracker.onEnrollmentChanged(new EnrollmentChangedEvent(before,
+            new Snapshot(before.id(), before.studentId(), 30L, 1, CourseStatus.InProgress, null)));
+        // finishing a course is not a drop
+        tracker.onEnrollmentChanged(new EnrollmentChangedEvent(snapshot(30L, CourseStatus.InProgress), 
+            snapshot(30L, CourseStatus.Completed)));
+
+        tracker.refresh();
+        List<CourseDemandResponse> courses = tracker.getLeaderboard(null).getCourses();
+
+        assertEquals(List.of(30L, 10L), courses.stream().map(CourseDemandResponse::getCourseId).collect(Collectors.toList()));
+        assertEquals(0L, courses.get(0).getDroppedLastHour());
+        assertEquals(1L, courses.get(1).getDroppedLastHour());
+    }
+}
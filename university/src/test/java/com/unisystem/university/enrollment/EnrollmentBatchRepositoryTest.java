@@ -0,0 +1,62 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EnrollmentBatchRepository.class)
+public class EnrollmentBatchRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EnrollmentBatchRepository enrollmentBatchRepo;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    @Test
+    public void insertAll_SetsTheGeneratedIds() {
+        User lecturer = entityManager.persist(new User(null, "Mina", "mina@gmail.com", "pass", Role.LECTURER));
+        Course course = new Course("Algebra", LocalDate.of(2026, 2, 1), LocalDate.of(2026, 6, 1),
+            LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), lecturer, true);
+        course.setPrerequisites(new HashSet<>());
+        entityManager.persist(course);
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User student = entityManager.persist(new User(null, "Student " + i, "student" + i + "@gmail.com", "pass", Role.STUDENT));
+            enrollments.add(new Enrollment(student, course, 20261, CourseStatus.InProgress));
+        }
+        entityManager.flush();
+
+        enrollmentBatchRepo.insertAll(enrollments);
+        entityManager.clear();
+
+        for (Enrollment inserted : enrollments) {
+            assertNotNull(inserted.getId());
+            Enrollment stored = enrollmentRepo.findById(inserted.getId()).orElseThrow();
+            assertEquals(inserted.getStudent().getId(), stored.getStudent().getId());
+            assertEquals(course.getId(), stored.getCourse().getId());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.unisystem.university.enrollment.EnrollmentChangedEvent.Snapshot;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class EnrollmentCountersTest {
+    @Mock
+    private EnrollmentRepository mockEnrollmentRepository;
+
+    @InjectMocks
+    private EnrollmentCounters enrollmentCounters;
+
+    // course 10 has two students in progress in semester 1
+    private static List<Object[]> rows() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] {10L, 1, CourseStatus.InProgress, 2L});
+        return rows;
+    }
+
+    @Test
+    public void onEnrollmentChanged_MovesTheCounts() {
+        when(mockEnrollmentRepository.countGroupedByCourseSemesterAndStatus()).thenReturn(rows());
+
+        Snapshot inProgress = new Snapshot(1L, 100L, 10L, 1, CourseStatus.InProgress, null);
+        enrollmentCounters.onEnrollmentChanged(new EnrollmentChangedEvent(inProgress,
+            new Snapshot(1L, 100L, 10L, 1, CourseStatus.Dropped, null)));
+
+        assertEquals(2, enrollmentCounters.countByCourse(10L));
+        assertEquals(1, enrollmentCounters.countByCourse(10L, 1, CourseStatus.InProgress));
+        assertEquals(1, enrollmentCounters.countByCourse(10L, null, CourseStatus.Dropped));
+    }
+
+    @Test
+    public void reconcile_ChangeWhileLoading_IsKept() {
+        when(mockEnrollmentRepository.countGroupedByCourseSemesterAndStatus()).thenReturn(rows());
+        assertEquals(2, enrollmentCounters.countByCourse(10L));
+
+        // the enrollment is committed after the grouped query read the table, its event arrives while the query runs
+        when(mockEnrollmentRepository.countGroupedByCourseSemesterAndStatus()).thenAnswer(invocation -> {
+            enrollmentCounters.onEnrollmentChanged(new EnrollmentChangedEvent(null,
+                new Snapshot(3L, 102L, 10L, 1, CourseStatus.InProgress, null)));
+            return rows();
+        });
+        enrollmentCounters.reconcile();
+
+        assertEquals(3, enrollmentCounters.countByCourse(10L));
+        assertEquals(3, enrollmentCounters.countByCourse(10L, 1, CourseStatus.InProgress));
+    }
+
+    @Test
+    public void countByCourse_PartialFilter_OnlyCountsThatCourse() {
+        List<Object[]> rows = rows();
+        rows.add(new Object[] {10L, 2, CourseStatus.Completed, 4L});
+        rows.add(new Object[] {11L, 1, CourseStatus.InProgress, 7L});
+        when(mockEnrollmentRepository.countGroupedByCourseSemesterAndStatus()).thenReturn(rows);
+
+        assertEquals(6, enrollmentCounters.countByCourse(10L, null, null));
+        assertEquals(2, enrollmentCounters.countByCourse(10L, 1, null));
+        assertEquals(4, enrollmentCounters.countByCourse(10L, null, CourseStatus.Completed));
+        assertEquals(7, enrollmentCounters.countByCourse(11L, null, CourseStatus.InProgress));
+        assertEquals(0, enrollmentCounters.countByCourse(12L, 1, null));
+    }
+}
@@ -0,0 +1,113 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.ExportFormat;
+import com.unisystem.university.enrollment.Types.Grade;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+@DataJpaTest
+@AutoConfigureJson
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EnrollmentExporter.class)
+public class EnrollmentExporterTest {
+    private static final LocalDate ENROLLED_ON = LocalDate.of(2026, 1, 10);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EnrollmentExporter enrollmentExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Enrollment graded;
+    private Enrollment other;
+
+    // one graded enrollment in a course whose name needs quoting, one in another course
+    @BeforeEach
+    void setUp() {
+        User lecturer = entityManager.persist(new User(null, "Mina", "mina@gmail.com", "pass", Role.LECTURER));
+        User student = entityManager.persist(new User(null, "Sara", "sara@gmail.com", "pass", Role.STUDENT));
+        Course quoted = course("Algebra, \"Linear\"", lecturer);
+        Course plain = course("Biology", lecturer);
+
+        graded = new Enrollment(student, quoted, 20261, CourseStatus.Completed);
+        graded.setGrade(Grade.A);
+        graded.setEnrollmentDate(ENROLLED_ON);
+        entityManager.persist(graded);
+        other = new Enrollment(student, plain, 20261, CourseStatus.InProgress);
+        other.setEnrollmentDate(ENROLLED_ON);
+        entityManager.persist(other);
+        entityManager.flush();
+    }
+
+    private Course course(String name, User lecturer) {
+        Course course = new Course(name, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 6, 1),
+            LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), lecturer, true);
+        course.setPrerequisites(new HashSet<>());
+        return entityManager.persist(course);
+    }
+
+    private List<String> export(ExportFormat format, Long courseId, CourseStatus status) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        enrollmentExporter.export(format, courseId, null, status, out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    @Test
+    public void export_Csv_WritesHeaderAndQuotesValues() throws Exception {
+        List<String> lines = export(ExportFormat.csv, graded.getCourse().getId(), null);
+
+        assertEquals(List.of(
+            "id,studentId,studentName,courseId,courseName,enrollmentDate,grade,semester,status",
+            graded.getId() + "," + graded.getStudent().getId() + ",Sara," + graded.getCourse().getId()
+                + ",\"Algebra, \"\"Linear\"\"\",2026-01-10,A,20261,Completed"),
+            lines);
+    }
+
+    @Test
+    public void export_Csv_NoRows_WritesOnlyTheHeader() throws Exception {
+        List<String> lines = export(ExportFormat.csv, other.getCourse().getId(), CourseStatus.Dropped);
+
+        assertEquals(1, lines.size());
+    }
+
+    @Test
+    public void export_Ndjson_WritesOneObjectPerLine() throws Exception {
+        List<String> lines = export(ExportFormat.ndjson, null, null);
+
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(graded.getId().longValue(), first.get("id").asLong());
+        assertEquals("Algebra, \"Linear\"", first.get("courseName").asText());
+        assertEquals("2026-01-10", first.get("enrollmentDate").asText());
+        assertEquals("A", first.get("grade").asText());
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertEquals(other.getId().longValue(), second.get("id").asLong());
+        assertEquals("InProgress", second.get("status").asText());
+    }
+}
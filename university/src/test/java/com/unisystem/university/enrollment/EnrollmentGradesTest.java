@@ -0,0 +1,168 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.SeatAllocator;
+import com.unisystem.university.enrollment.DTOS.GradeUploadResult;
+import com.unisystem.university.enrollment.DTOS.GradeUploadRow;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.Grade;
+import com.unisystem.university.lectureTime.ScheduleIndex;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EnrollmentService.class, EnrollmentBatchRepository.class, EnrollmentCounters.class, ScheduleIndex.class,
+    SeatAllocator.class, EnrollmentGradesTest.MethodSecurity.class})
+public class EnrollmentGradesTest {
+    // the @PreAuthorize checks of the service, without the web security of SecurityConfig
+    @EnableMethodSecurity
+    static class MethodSecurity {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    private User mina;
+    private User sara;
+    private Course algebra;
+    private Enrollment first;
+    private Enrollment repeatedFall;
+    private Enrollment repeatedSpring;
+    private Enrollment otherCourse;
+
+    // mina teaches algebra, one student took it once, another took it twice, and one is in sara's course
+    @BeforeEach
+    void setUp() {
+        mina = entityManager.persist(new User(null, "Mina", "mina@gmail.com", "pass", Role.LECTURER));
+        sara = entityManager.persist(new User(null, "Sara", "sara@gmail.com", "pass", Role.LECTURER));
+        algebra = course("Algebra", mina);
+        Course biology = course("Biology", sara);
+
+        User once = student("once");
+        User twice = student("twice");
+        first = entityManager.persist(new Enrollment(once, algebra, 20261, CourseStatus.InProgress));
+        repeatedFall = entityManager.persist(new Enrollment(twice, algebra, 20253, CourseStatus.Dropped));
+        repeatedSpring = entityManager.persist(new Enrollment(twice, algebra, 20261, CourseStatus.InProgress));
+        otherCourse = entityManager.persist(new Enrollment(once, biology, 20261, CourseStatus.InProgress));
+        entityManager.flush();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Course course(String name, User lecturer) {
+        Course course = new Course(name, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 6, 1),
+            LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), lecturer, true);
+        course.setPrerequisites(new HashSet<>());
+        return entityManager.persist(course);
+    }
+
+    private User student(String name) {
+        return entityManager.persist(new User(null, name, name + "@gmail.com", "pass", Role.STUDENT));
+    }
+
+    private static void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    // the grades are written with JDBC, read them back from the database
+    private Enrollment reload(Enrollment enroll) {
+        entityManager.clear();
+        return enrollmentRepo.findById(enroll.getId()).orElseThrow();
+    }
+
+    @Test
+    public void setGrades_ResolvesEveryRowAndReportsFailures() {
+        signIn(mina);
+
+        List<GradeUploadResult> results = enrollmentService.setGrades(algebra, List.of(
+            new GradeUploadRow(first.getId(), null, null, Grade.A),
+            new GradeUploadRow(null, repeatedSpring.getStudent().getId(), null, Grade.B),
+            new GradeUploadRow(null, repeatedSpring.getStudent().getId(), 20261, Grade.B),
+            new GradeUploadRow(otherCourse.getId(), null, null, Grade.C),
+            new GradeUploadRow(null, first.getStudent().getId(), null, Grade.A_MINUS),
+            new GradeUploadRow(first.getId(), null, null, null)));
+
+        assertEquals(6, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).getError().contains("more than one enrollment"));
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(repeatedSpring.getId(), results.get(2).getEnrollmentId());
+        assertTrue(results.get(3).getError().contains("not found in course"));
+        assertTrue(results.get(4).getError().contains("graded twice"));
+        assertEquals("grade is required", results.get(5).getError());
+
+        Enrollment graded = reload(first);
+        assertEquals(Grade.A, graded.getGrade());
+        assertEquals(CourseStatus.Completed, graded.getStatus());
+        assertEquals(Grade.B, reload(repeatedSpring).getGrade());
+        assertNull(reload(repeatedFall).getGrade());
+        assertNull(reload(otherCourse).getGrade());
+    }
+
+    @Test
+    public void setGrades_OnlyOneKindOfTarget_Works() {
+        signIn(mina);
+
+        List<GradeUploadResult> byStudent = enrollmentService.setGrades(algebra, List.of(
+            new GradeUploadRow(null, first.getStudent().getId(), null, Grade.B_PLUS)));
+        List<GradeUploadResult> byEnrollment = enrollmentService.setGrades(algebra, List.of(
+            new GradeUploadRow(repeatedFall.getId(), null, null, Grade.F)));
+
+        assertTrue(byStudent.get(0).isSuccess());
+        assertTrue(byEnrollment.get(0).isSuccess());
+        assertEquals(Grade.B_PLUS, reload(first).getGrade());
+        assertEquals(Grade.F, reload(repeatedFall).getGrade());
+        assertTrue(enrollmentService.setGrades(algebra, List.of()).isEmpty());
+    }
+
+    @Test
+    public void setGrades_LecturerOfAnotherCourse_IsDenied() {
+        List<GradeUploadRow> rows = List.of(new GradeUploadRow(first.getId(), null, null, Grade.A));
+
+        signIn(sara);
+        assertThrows(AccessDeniedException.class, () -> enrollmentService.setGrades(algebra, rows));
+        signIn(first.getStudent());
+        assertThrows(AccessDeniedException.class, () -> enrollmentService.setGrades(algebra, rows));
+        assertNull(reload(first).getGrade());
+
+        signIn(new User(null, "Admin", "admin@gmail.com", "pass", Role.ADMIN));
+        assertFalse(enrollmentService.setGrades(algebra, rows).isEmpty());
+        assertEquals(Grade.A, reload(first).getGrade());
+    }
+}
@@ -0,0 +1,137 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.SeatAllocator;
+import com.unisystem.university.enrollment.DTOS.EnrollmentPage;
+import com.unisystem.university.enrollment.DTOS.EnrollmentResponse;
+import com.unisystem.university.enrollment.DTOS.StudentEnrollmentsResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.EnrollmentSortKey;
+import com.unisystem.university.lectureTime.ScheduleIndex;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EnrollmentService.class, EnrollmentBatchRepository.class, EnrollmentCounters.class, ScheduleIndex.class,
+    SeatAllocator.class})
+public class EnrollmentPageTest {
+    private static final CourseStatus[] STATUSES = {CourseStatus.InProgress, CourseStatus.Completed, CourseStatus.Dropped};
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    private User student;
+    private Course algebra;
+    private List<Enrollment> studentEnrollments = new ArrayList<>();
+
+    // the student takes 7 courses over 3 semesters, Algebra has the student and 4 more
+    @BeforeEach
+    void setUp() {
+        User lecturer = entityManager.persist(new User(null, "Mina", "mina@gmail.com", "pass", Role.LECTURER));
+        student = entityManager.persist(new User(null, "Sara", "sara@gmail.com", "pass", Role.STUDENT));
+        for (int i = 0; i < 7; i++) {
+            Course course = new Course("Course " + i, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 6, 1),
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), lecturer, true);
+            course.setPrerequisites(new HashSet<>());
+            entityManager.persist(course);
+            // semesters and statuses repeat so the ties are broken by the id
+            studentEnrollments.add(entityManager.persist(
+                new Enrollment(student, course, 20241 + i % 3, STATUSES[i % STATUSES.length])));
+        }
+        algebra = studentEnrollments.get(0).getCourse();
+        for (int i = 0; i < 4; i++) {
+            User other = entityManager.persist(new User(null, "Student " + i, "student" + i + "@gmail.com", "pass",
+                Role.STUDENT));
+            entityManager.persist(new Enrollment(other, algebra, 20241, CourseStatus.InProgress));
+        }
+        entityManager.flush();
+    }
+
+    private List<StudentEnrollmentsResponse> walkStudentPages(EnrollmentSortKey sort, CourseStatus status) {
+        List<StudentEnrollmentsResponse> seen = new ArrayList<>();
+        String after = null;
+        do {
+            EnrollmentPage<StudentEnrollmentsResponse> page = enrollmentService.getStudentEnrollmentPage(student, sort,
+                after, status, null, 3);
+            seen.addAll(page.getItems());
+            after = page.getNextCursor();
+        } while (after != null);
+        return seen;
+    }
+
+    @Test
+    public void getStudentEnrollmentPage_KeysetPagesCoverEveryEnrollmentOnce() {
+        for (EnrollmentSortKey sort : EnrollmentSortKey.values()) {
+            List<Long> seen = walkStudentPages(sort, null).stream().map(StudentEnrollmentsResponse::getId).toList();
+
+            assertEquals(studentEnrollments.size(), seen.size(), sort.name());
+            assertEquals(studentEnrollments.size(), new HashSet<>(seen).size(), sort.name());
+        }
+
+        // pages keep the (key, id) order across the cursors
+        List<Long> bySemester = walkStudentPages(EnrollmentSortKey.semester, null).stream()
+            .map(StudentEnrollmentsResponse::getId).toList();
+        List<Long> expected = studentEnrollments.stream()
+            .sorted(Comparator.comparing(Enrollment::getSemester).thenComparing(Enrollment::getId))
+            .map(Enrollment::getId).toList();
+        assertEquals(expected, bySemester);
+    }
+
+    @Test
+    public void getStudentEnrollmentPage_FilterAppliesOnEveryPage() {
+        List<StudentEnrollmentsResponse> dropped = walkStudentPages(EnrollmentSortKey.id, CourseStatus.Dropped);
+
+        assertEquals(2, dropped.size());
+        dropped.forEach(enroll -> assertEquals(CourseStatus.Dropped, enroll.getStatus()));
+    }
+
+    @Test
+    public void getCourseEnrollmentPage_LastPageHasNoCursor() {
+        EnrollmentPage<EnrollmentResponse> first = enrollmentService.getCourseEnrollmentPage(algebra,
+            EnrollmentSortKey.id, null, null, null, 3);
+        assertEquals(3, first.getItems().size());
+
+        EnrollmentPage<EnrollmentResponse> last = enrollmentService.getCourseEnrollmentPage(algebra,
+            EnrollmentSortKey.id, first.getNextCursor(), null, null, 3);
+        assertEquals(2, last.getItems().size());
+        assertNull(last.getNextCursor());
+        last.getItems().forEach(enroll -> assertEquals(algebra.getId(), enroll.getCourseId()));
+    }
+
+    @Test
+    public void getCourseEnrollmentPage_BadCursorOrLimit_Throws() {
+        String cursor = enrollmentService.getCourseEnrollmentPage(algebra, EnrollmentSortKey.id, null, null, null, 1)
+            .getNextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> enrollmentService.getCourseEnrollmentPage(algebra,
+            EnrollmentSortKey.semester, cursor, null, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> enrollmentService.getCourseEnrollmentPage(algebra,
+            EnrollmentSortKey.id, "not a cursor", null, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> enrollmentService.getCourseEnrollmentPage(algebra,
+            EnrollmentSortKey.id, null, null, null, EnrollmentService.MAX_PAGE_SIZE + 1));
+    }
+}
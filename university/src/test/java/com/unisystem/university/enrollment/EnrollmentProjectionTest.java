@@ -0,0 +1,125 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.enrollment.DTOS.EnrollmentResponse;
+import com.unisystem.university.enrollment.DTOS.StudentEnrollmentsResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.EnrollmentSortKey;
+import com.unisystem.university.enrollment.Types.Grade;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// the student and course enrollment lists are read straight into their DTOs, one statement per list
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class EnrollmentProjectionTest {
+    private static final LocalDate ENROLLED_ON = LocalDate.of(2026, 1, 10);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    private Statistics statistics;
+    private User sara;
+    private Course algebra;
+    private Enrollment graded;
+
+    // sara took algebra and biology, 3 more students take algebra
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User lecturer = entityManager.persist(new User(null, "Mina", "mina@gmail.com", "pass", Role.LECTURER));
+        sara = entityManager.persist(new User(null, "Sara", "sara@gmail.com", "pass", Role.STUDENT));
+        algebra = course("Algebra", lecturer);
+        Course biology = course("Biology", lecturer);
+
+        graded = new Enrollment(sara, algebra, 20253, CourseStatus.Completed);
+        graded.setGrade(Grade.B_PLUS);
+        graded.setEnrollmentDate(ENROLLED_ON);
+        entityManager.persist(graded);
+        entityManager.persist(new Enrollment(sara, biology, 20261, CourseStatus.InProgress));
+        for (int i = 0; i < 3; i++) {
+            User student = entityManager.persist(new User(null, "Student " + i, "student" + i + "@gmail.com", "pass",
+                Role.STUDENT));
+            entityManager.persist(new Enrollment(student, algebra, 20261, CourseStatus.InProgress));
+        }
+        entityManager.flush();
+    }
+
+    private Course course(String name, User lecturer) {
+        Course course = new Course(name, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 6, 1),
+            LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), lecturer, true);
+        course.setPrerequisites(new HashSet<>());
+        return entityManager.persist(course);
+    }
+
+    // runs the read on an empty persistence context and counts its statements
+    private <T> List<T> readCounting(Supplier<List<T>> read) {
+        entityManager.clear();
+        statistics.clear();
+        List<T> rows = read.get();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        return rows;
+    }
+
+    @Test
+    public void findStudentEnrollmentPage_SelectsTheResponseColumns() {
+        List<StudentEnrollmentsResponse> rows = readCounting(() -> enrollmentRepo.findStudentEnrollmentPage(
+            sara.getId(), EnrollmentSortKey.id, null, null, null, 10));
+
+        assertEquals(2, rows.size());
+        StudentEnrollmentsResponse first = rows.get(0);
+        assertEquals(graded.getId(), first.getId());
+        assertEquals(algebra.getId(), first.getCourseId());
+        assertEquals("Algebra", first.getCourseName());
+        assertEquals(ENROLLED_ON, first.getEnrollmentDate());
+        assertEquals(Grade.B_PLUS, first.getGrade());
+        assertEquals(20253, first.getSemester());
+        assertEquals(CourseStatus.Completed, first.getStatus());
+        assertEquals("Biology", rows.get(1).getCourseName());
+    }
+
+    @Test
+    public void findCourseEnrollmentPage_SelectsTheRosterColumns() {
+        List<EnrollmentResponse> rows = readCounting(() -> enrollmentRepo.findCourseEnrollmentPage(
+            algebra.getId(), EnrollmentSortKey.id, null, null, null, 10));
+
+        assertEquals(4, rows.size());
+        EnrollmentResponse first = rows.get(0);
+        assertEquals(graded.getId(), first.getId());
+        assertEquals(sara.getId(), first.getStudentId());
+        assertEquals("Sara", first.getStudentName());
+        assertEquals(algebra.getId(), first.getCourseId());
+        assertEquals("Algebra", first.getCourseName());
+        assertEquals(ENROLLED_ON, first.getEnrollmentDate());
+        assertEquals(Grade.B_PLUS, first.getGrade());
+        assertEquals(20253, first.getSemester());
+        assertEquals(CourseStatus.Completed, first.getStatus());
+        rows.forEach(row -> assertEquals(algebra.getId(), row.getCourseId()));
+    }
+}
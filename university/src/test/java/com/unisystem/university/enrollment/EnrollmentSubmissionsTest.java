@@ -0,0 +1,174 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.CourseService;
+import com.unisystem.university.enrollment.DTOS.EnrollmentRequest;
+import com.unisystem.university.enrollment.DTOS.EnrollmentSubmissionResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.SubmissionStatus;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+import com.unisystem.university.users.UserService;
+
+import jakarta.persistence.EntityNotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+public class EnrollmentSubmissionsTest {
+    private static final Integer SEMESTER = 20261;
+
+    @Mock
+    private EnrollmentService mockEnrollmentService;
+
+    @Mock
+    private UserService mockUserService;
+
+    @Mock
+    private CourseService mockCourseService;
+
+    @Mock
+    private TransactionTemplate mockTransactionTemplate;
+
+    private EnrollmentSubmissions enrollmentSubmissions;
+    private User student;
+    private Course course;
+
+    // one worker and room for one more queued submission
+    @BeforeEach
+    void setUp() {
+        enrollmentSubmissions = new EnrollmentSubmissions(mockEnrollmentService, mockUserService, mockCourseService,
+            mockTransactionTemplate, 1, 1, 60000);
+        student = new User(100L, "student", "student@uni.edu", "password", Role.STUDENT);
+        course = new Course("Math", LocalDate.now().plusMonths(1), LocalDate.now().plusMonths(5),
+            LocalDate.now().minusWeeks(2), LocalDate.now().plusWeeks(2), null, true);
+        course.setId(10L);
+        signIn(student);
+    }
+
+    @AfterEach
+    void tearDown() {
+        enrollmentSubmissions.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static Object inTransaction(InvocationOnMock invocation) {
+        TransactionCallback<?> callback = invocation.getArgument(0);
+        return callback.doInTransaction(null);
+    }
+
+    private EnrollmentRequest request() {
+        EnrollmentRequest request = new EnrollmentRequest();
+        request.setStudentId(student.getId());
+        request.setCourseId(course.getId());
+        request.setSemester(SEMESTER);
+        return request;
+    }
+
+    // the worker finishes off the test thread, poll until the submission leaves PENDING
+    private EnrollmentSubmissionResponse awaitCompletion(String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        EnrollmentSubmissionResponse submission = enrollmentSubmissions.getSubmission(id);
+        while (submission.getStatus() == SubmissionStatus.PENDING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            submission = enrollmentSubmissions.getSubmission(id);
+        }
+        return submission;
+    }
+
+    @Test
+    public void submit_EnrollmentMade_Succeeds() throws Exception {
+        Enrollment enroll = new Enrollment(student, course, SEMESTER, CourseStatus.InProgress);
+        enroll.setId(1L);
+        when(mockTransactionTemplate.execute(any())).thenAnswer(EnrollmentSubmissionsTest::inTransaction);
+        when(mockUserService.getStudent(student.getId())).thenReturn(student);
+        when(mockCourseService.getCourseById(course.getId())).thenReturn(course);
+        when(mockEnrollmentService.makeEnrollment(student, course, SEMESTER)).thenReturn(enroll);
+
+        EnrollmentSubmissionResponse submitted = enrollmentSubmissions.submit(request());
+        EnrollmentSubmissionResponse done = awaitCompletion(submitted.getId());
+
+        assertEquals(SubmissionStatus.SUCCEEDED, done.getStatus());
+        assertEquals(1L, done.getEnrollment().getId());
+        assertNull(done.getError());
+        assertNotNull(done.getCompletedAt());
+    }
+
+    @Test
+    public void submit_EnrollmentRefused_Fails() throws Exception {
+        when(mockTransactionTemplate.execute(any())).thenAnswer(EnrollmentSubmissionsTest::inTransaction);
+        when(mockUserService.getStudent(student.getId())).thenReturn(student);
+        when(mockCourseService.getCourseById(course.getId())).thenReturn(course);
+        when(mockEnrollmentService.makeEnrollment(student, course, SEMESTER))
+            .thenThrow(new RuntimeException("Course 'Math' is full."));
+
+        EnrollmentSubmissionResponse done = awaitCompletion(enrollmentSubmissions.submit(request()).getId());
+
+        assertEquals(SubmissionStatus.FAILED, done.getStatus());
+        assertEquals("Course 'Math' is full.", done.getError());
+        assertNull(done.getEnrollment());
+    }
+
+    @Test
+    public void submit_QueueFull_IsRejected() throws Exception {
+        // the worker holds the first submission until the latch opens
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockTransactionTemplate.execute(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new RuntimeException("refused");
+        });
+
+        EnrollmentSubmissionResponse running = enrollmentSubmissions.submit(request());
+        EnrollmentSubmissionResponse queued = enrollmentSubmissions.submit(request());
+        assertEquals(SubmissionStatus.PENDING, running.getStatus());
+        assertEquals(SubmissionStatus.PENDING, queued.getStatus());
+
+        assertThrows(RuntimeException.class, () -> enrollmentSubmissions.submit(request()));
+
+        release.countDown();
+        assertEquals(SubmissionStatus.FAILED, awaitCompletion(running.getId()).getStatus());
+        assertEquals(SubmissionStatus.FAILED, awaitCompletion(queued.getId()).getStatus());
+    }
+
+    @Test
+    public void getSubmission_OnlyOwnerOrAdmin() throws Exception {
+        when(mockTransactionTemplate.execute(any())).thenThrow(new RuntimeException("refused"));
+        String id = enrollmentSubmissions.submit(request()).getId();
+
+        signIn(new User(101L, "other", "other@uni.edu", "password", Role.STUDENT));
+        assertThrows(EntityNotFoundException.class, () -> enrollmentSubmissions.getSubmission(id));
+        assertThrows(EntityNotFoundException.class, () -> enrollmentSubmissions.getSubmission("unknown"));
+
+        signIn(new User(1L, "admin", "admin@uni.edu", "password", Role.ADMIN));
+        assertEquals(id, enrollmentSubmissions.getSubmission(id).getId());
+
+        signIn(student);
+        assertEquals(SubmissionStatus.FAILED, awaitCompletion(id).getStatus());
+    }
+}
@@ -0,0 +1,90 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+public class IdempotencyStoreTest {
+
+    @Test
+    public void execute_ConcurrentSameKey_RunsActionOnce() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(60000, 100, 5000);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<String>> first = pool.submit(() -> store.execute("k1", "enroll", "req", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return ResponseEntity.ok("done");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<ResponseEntity<String>> second = pool.submit(() -> store.execute("k1", "enroll", "req", () -> {
+                runs.incrementAndGet();
+                return ResponseEntity.ok("again");
+            }));
+            release.countDown();
+
+            ResponseEntity<String> response = first.get(5, TimeUnit.SECONDS);
+            assertSame(response, second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, runs.get());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // a later retry is answered from the store too
+        assertEquals("done", store.execute("k1", "enroll", "req", () -> ResponseEntity.ok("late")).getBody());
+    }
+
+    @Test
+    public void execute_FailuresAreNotStoredAndKeysAreBounded() {
+        IdempotencyStore store = new IdempotencyStore(60000, 2, 5000);
+
+        assertThrows(RuntimeException.class, () -> store.execute("k1", "grade", "req", () -> {
+            throw new RuntimeException("course is full");
+        }));
+        assertEquals("retried", store.execute("k1", "grade", "req", () -> ResponseEntity.ok("retried")).getBody());
+
+        // the same key can't be reused with another payload
+        assertThrows(IllegalArgumentException.class,
+            () -> store.execute("k1", "grade", "other", () -> ResponseEntity.ok("x")));
+
+        store.execute("k2", "grade", "req", () -> ResponseEntity.ok("2"));
+        store.execute("k3", "grade", "req", () -> ResponseEntity.ok("3"));
+        assertEquals(2, store.size());
+        // k1 was the oldest so it was evicted and runs again
+        assertEquals("fresh", store.execute("k1", "grade", "req", () -> ResponseEntity.ok("fresh")).getBody());
+    }
+
+    @Test
+    public void execute_SameHashDifferentRequest_IsRefused() {
+        IdempotencyStore store = new IdempotencyStore(60000, 100, 5000);
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        store.execute("k1", "enroll", "Aa", () -> ResponseEntity.ok("first"));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> store.execute("k1", "enroll", "BB", () -> ResponseEntity.ok("second")));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
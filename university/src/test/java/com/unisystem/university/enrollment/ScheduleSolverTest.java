@@ -0,0 +1,109 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.CourseRepository;
+import com.unisystem.university.enrollment.DTOS.ExcludedCourse;
+import com.unisystem.university.enrollment.DTOS.ScheduleOption;
+import com.unisystem.university.enrollment.DTOS.ScheduleOptionsResponse;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.lectureTime.Day;
+import com.unisystem.university.lectureTime.LectureTime;
+import com.unisystem.university.lectureTime.ScheduleIndex;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+@ExtendWith(MockitoExtension.class)
+public class ScheduleSolverTest {
+    private static final LocalDate FALL_START = LocalDate.of(2025, 9, 1);
+    private static final LocalDate FALL_END = LocalDate.of(2025, 12, 20);
+    private static final LocalDate SPRING_START = LocalDate.of(2026, 2, 1);
+    private static final LocalDate SPRING_END = LocalDate.of(2026, 5, 30);
+
+    @Mock
+    private EnrollmentRepository mockEnrollmentRepository;
+
+    @Mock
+    private CourseRepository mockCourseRepository;
+
+    private User student;
+    private List<Course> wished;
+
+    private Course course(long id, LocalDate start, LocalDate end, Day day, LocalTime time, Course... prerequisites) {
+        Course course = new Course("Course " + id, start, end, start.minusWeeks(4), start, null, true);
+        course.setId(id);
+        course.setLecturesTime(new ArrayList<>(List.of(new LectureTime(null, day, time))));
+        course.setPrerequisites(new HashSet<>(List.of(prerequisites)));
+        return course;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        student = new User(100L, "student", "student@uni.edu", "password", Role.STUDENT);
+
+        Course intro = course(1, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 5, 30), Day.Monday, LocalTime.of(8, 0));
+        Course algebra = course(2, FALL_START, FALL_END, Day.Monday, LocalTime.of(10, 0));
+        Course unknownPrereq = course(9, FALL_START, FALL_END, Day.Sunday, LocalTime.of(8, 0));
+
+        wished = List.of(
+            course(3, FALL_START, FALL_END, Day.Monday, LocalTime.of(10, 0)),                  // clashes with algebra
+            course(4, FALL_START, FALL_END, Day.Sunday, LocalTime.of(12, 0), unknownPrereq),  // prerequisite not taken
+            course(5, FALL_START, FALL_END, Day.Tuesday, LocalTime.of(9, 0)),
+            course(6, FALL_START, FALL_END, Day.Tuesday, LocalTime.of(9, 0)),                 // clashes with 5
+            course(7, FALL_START, FALL_END, Day.Wednesday, LocalTime.of(9, 0), intro),
+            course(8, SPRING_START, SPRING_END, Day.Tuesday, LocalTime.of(9, 0)));            // same slot, other term
+
+        when(mockEnrollmentRepository.findByStudent(student)).thenReturn(List.of(
+            new Enrollment(student, intro, 1, CourseStatus.Completed),
+            new Enrollment(student, algebra, 2, CourseStatus.InProgress)));
+        when(mockCourseRepository.findAllById(any())).thenReturn(wished);
+    }
+
+    private List<Long> ids() {
+        return wished.stream().map(Course::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void solve_PrunesInvalidCoursesAndRanksLargestSchedulesFirst() {
+        ScheduleSolver solver = new ScheduleSolver(mockEnrollmentRepository, mockCourseRepository, new ScheduleIndex(null), 1000);
+
+        ScheduleOptionsResponse response = solver.solve(student, ids(), null);
+
+        assertTrue(response.getComplete());
+        assertEquals(List.of(3L, 4L), response.getExcluded().stream().map(ExcludedCourse::getCourseId).collect(Collectors.toList()));
+        assertEquals(List.of(List.of(5L, 7L, 8L), List.of(6L, 7L, 8L)),
+            response.getOptions().stream().map(ScheduleOption::getCourseIds).collect(Collectors.toList()));
+
+        ScheduleOptionsResponse limited = solver.solve(student, ids(), 1);
+        assertEquals(1, limited.getOptions().size());
+        assertEquals(List.of(5L, 7L, 8L), limited.getOptions().get(0).getCourseIds());
+    }
+
+    @Test
+    public void solve_ExhaustedBudget_ReturnsIncompleteResult() {
+        ScheduleSolver solver = new ScheduleSolver(mockEnrollmentRepository, mockCourseRepository, new ScheduleIndex(null), -1);
+
+        ScheduleOptionsResponse response = solver.solve(student, ids(), null);
+
+        assertFalse(response.getComplete());
+        assertTrue(response.getOptions().isEmpty());
+    }
+}
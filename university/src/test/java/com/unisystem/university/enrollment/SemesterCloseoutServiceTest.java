@@ -0,0 +1,204 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.CourseRepository;
+import com.unisystem.university.courses.CourseSeats;
+import com.unisystem.university.courses.CourseSeatsRepository;
+import com.unisystem.university.courses.SeatAllocator;
+import com.unisystem.university.courses.SeatReleasedEvent;
+import com.unisystem.university.enrollment.DTOS.CloseoutRequest;
+import com.unisystem.university.enrollment.Types.CloseoutStatus;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.Grade;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+import com.unisystem.university.users.UserRepository;
+
+// the runs commit chunk by chunk on their own thread, so the test data is committed too
+@DataJpaTest(properties = "enrollment.closeout.chunk-size=3")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SemesterCloseoutService.class, SeatAllocator.class, SemesterCloseoutServiceTest.SeatReleases.class})
+public class SemesterCloseoutServiceTest {
+    private static final int SEMESTER = 20261;
+
+    @Autowired
+    private SemesterCloseoutService closeoutService;
+
+    @Autowired
+    private CloseoutRunRepository closeoutRunRepo;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    @Autowired
+    private WaitlistRepository waitlistRepo;
+
+    @Autowired
+    private CourseSeatsRepository seatsRepo;
+
+    @Autowired
+    private CourseRepository courseRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private SeatReleases seatReleases;
+
+    private Course course;
+    private List<User> students = new ArrayList<>();
+
+    // stands in for WaitlistService, which promotes the next student on every SeatReleasedEvent
+    static class SeatReleases {
+        private final List<Long> courseIds = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onSeatReleased(SeatReleasedEvent event) {
+            courseIds.add(event.courseId());
+        }
+    }
+
+    // 7 students in one course, the first 3 graded, plus one enrollment of the next semester
+    @BeforeEach
+    void setUp() {
+        User lecturer = userRepo.save(new User(null, "Mina", "mina@gmail.com", "pass", Role.LECTURER));
+        Course newCourse = new Course("Algebra", LocalDate.of(2026, 2, 1), LocalDate.of(2026, 6, 1),
+            LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), lecturer, true);
+        newCourse.setPrerequisites(new HashSet<>());
+        course = courseRepo.save(newCourse);
+        seatsRepo.save(new CourseSeats(course.getId(), 8, 8));
+
+        for (int i = 0; i < 8; i++) {
+            students.add(userRepo.save(new User(null, "Student " + i, "student" + i + "@gmail.com", "pass", Role.STUDENT)));
+        }
+        for (int i = 0; i < 7; i++) {
+            Enrollment enrollment = new Enrollment(students.get(i), course, SEMESTER, CourseStatus.InProgress);
+            enrollment.setGrade(i < 3 ? Grade.A : null);
+            enrollmentRepo.save(enrollment);
+        }
+        enrollmentRepo.save(new Enrollment(students.get(0), course, SEMESTER + 1, CourseStatus.InProgress));
+        seatReleases.courseIds.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        closeoutRunRepo.deleteAll();
+        waitlistRepo.deleteAll();
+        enrollmentRepo.deleteAll();
+        seatsRepo.deleteAll();
+        courseRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    private CloseoutRun awaitFinished(Long runId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            CloseoutRun run = closeoutRunRepo.findById(runId).orElseThrow();
+            if (run.getStatus() != CloseoutStatus.RUNNING) {
+                return run;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("close-out run " + runId + " did not finish");
+    }
+
+    private Map<Long, CourseStatus> statuses() {
+        return enrollmentRepo.findAll().stream().collect(Collectors.toMap(Enrollment::getId, Enrollment::getStatus));
+    }
+
+    private List<Long> semesterIds() {
+        return enrollmentRepo.findAll().stream()
+            .filter(enrollment -> enrollment.getSemester() == SEMESTER)
+            .map(Enrollment::getId).sorted().toList();
+    }
+
+    @Test
+    void start_ClosesTheSemesterInChunks() throws InterruptedException {
+        CloseoutRequest req = new CloseoutRequest();
+        req.setSemester(SEMESTER);
+        req.setUngradedStatus(CourseStatus.Dropped);
+
+        CloseoutRun run = awaitFinished(closeoutService.start(req).getId());
+
+        assertEquals(CloseoutStatus.COMPLETED, run.getStatus());
+        assertEquals(7, run.getTotalCount());
+        assertEquals(3, run.getCompletedCount());
+        assertEquals(4, run.getDroppedCount());
+        assertEquals(3, run.getChunks());
+        List<Long> ids = semesterIds();
+        assertEquals(ids.get(6), run.getLastEnrollmentId());
+
+        Map<Long, CourseStatus> statuses = statuses();
+        for (int i = 0; i < 7; i++) {
+            assertEquals(i < 3 ? CourseStatus.Completed : CourseStatus.Dropped, statuses.get(ids.get(i)));
+        }
+        // the next semester is left alone
+        assertEquals(1, statuses.values().stream().filter(status -> status == CourseStatus.InProgress).count());
+        assertEquals(4, seatsRepo.findById(course.getId()).orElseThrow().getTaken());
+    }
+
+    @Test
+    void resumeRunning_ContinuesAfterTheLastCommittedChunk() throws InterruptedException {
+        List<Long> ids = semesterIds();
+        CloseoutRun interrupted = new CloseoutRun();
+        interrupted.setSemester(SEMESTER);
+        interrupted.setUngradedStatus(CourseStatus.Completed);
+        interrupted.setStatus(CloseoutStatus.RUNNING);
+        interrupted.setTotalCount(7L);
+        interrupted.setLastEnrollmentId(ids.get(2));
+        interrupted.setCompletedCount(3L);
+        interrupted.setChunks(1);
+        interrupted = closeoutRunRepo.save(interrupted);
+
+        closeoutService.resumeRunning();
+        CloseoutRun run = awaitFinished(interrupted.getId());
+
+        assertEquals(CloseoutStatus.COMPLETED, run.getStatus());
+        assertEquals(7, run.getCompletedCount());
+        assertEquals(3, run.getChunks());
+        Map<Long, CourseStatus> statuses = statuses();
+        for (int i = 0; i < 7; i++) {
+            // the first chunk was committed before the restart, so it is not picked up again
+            assertEquals(i < 3 ? CourseStatus.InProgress : CourseStatus.Completed, statuses.get(ids.get(i)));
+        }
+    }
+
+    @Test
+    void start_DroppedSeatsDoNotPromoteTheWaitlist() throws InterruptedException {
+        WaitlistEntry waiting = waitlistRepo.save(new WaitlistEntry(students.get(7), course, SEMESTER));
+        CloseoutRequest req = new CloseoutRequest();
+        req.setSemester(SEMESTER);
+        req.setUngradedStatus(CourseStatus.Dropped);
+
+        CloseoutRun run = awaitFinished(closeoutService.start(req).getId());
+
+        assertEquals(CloseoutStatus.COMPLETED, run.getStatus());
+        assertEquals(4, seatsRepo.findById(course.getId()).orElseThrow().getTaken());
+        assertTrue(seatReleases.courseIds.isEmpty());
+        assertTrue(waitlistRepo.findById(waiting.getId()).isPresent());
+    }
+}
@@ -0,0 +1,84 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.SeatAllocator;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+// the @PreAuthorize checks of WaitlistService, a student can only touch their own place in a queue
+@SpringJUnitConfig({WaitlistService.class, WaitlistAccessTest.MethodSecurity.class})
+public class WaitlistAccessTest {
+    private static final Integer SEMESTER = 20261;
+
+    @EnableMethodSecurity
+    static class MethodSecurity {
+    }
+
+    @MockitoBean
+    private WaitlistRepository waitlistRepository;
+
+    @MockitoBean
+    private EnrollmentRepository enrollmentRepository;
+
+    @MockitoBean
+    private EnrollmentService enrollmentService;
+
+    @MockitoBean
+    private SeatAllocator seatAllocator;
+
+    @MockitoBean
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    private final User student = new User(100L, "student", "student@uni.edu", "password", Role.STUDENT);
+    private final User other = new User(101L, "other", "other@uni.edu", "password", Role.STUDENT);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @Test
+    public void otherStudent_IsDenied() {
+        Course course = new Course("Math", LocalDate.now().plusMonths(1), LocalDate.now().plusMonths(5),
+            LocalDate.now().minusWeeks(2), LocalDate.now().plusWeeks(2), null, true);
+        course.setId(10L);
+        signIn(other);
+
+        assertThrows(AccessDeniedException.class, () -> waitlistService.join(student, course, SEMESTER));
+        assertThrows(AccessDeniedException.class, () -> waitlistService.getPosition(10L, student.getId(), SEMESTER));
+        assertThrows(AccessDeniedException.class, () -> waitlistService.leave(10L, student.getId(), SEMESTER));
+    }
+
+    @Test
+    public void ownerOrAdmin_IsAllowed() {
+        signIn(student);
+        assertEquals(0, waitlistService.getPosition(10L, student.getId(), SEMESTER).getWaiting());
+
+        signIn(new User(1L, "admin", "admin@uni.edu", "password", Role.ADMIN));
+        assertEquals(0, waitlistService.getPosition(10L, student.getId(), SEMESTER).getWaiting());
+    }
+}
@@ -0,0 +1,142 @@
+package com.unisystem.university.enrollment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.unisystem.university.courses.Course;
+import com.unisystem.university.courses.SeatAllocator;
+import com.unisystem.university.users.Role;
+import com.unisystem.university.users.User;
+
+@ExtendWith(MockitoExtension.class)
+public class WaitlistServiceTest {
+    private static final Integer SEMESTER = 20261;
+
+    @Mock
+    private WaitlistRepository mockWaitlistRepository;
+
+    @Mock
+    private EnrollmentRepository mockEnrollmentRepository;
+
+    @Mock
+    private EnrollmentService mockEnrollmentService;
+
+    @Mock
+    private SeatAllocator mockSeatAllocator;
+
+    @Mock
+    private TransactionTemplate mockTransactionTemplate;
+
+    private WaitlistService waitlistService;
+    private User student;
+    private Course course;
+    private WaitlistEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        waitlistService = new WaitlistService(mockWaitlistRepository, mockEnrollmentRepository, mockEnrollmentService,
+            mockSeatAllocator, mockTransactionTemplate, 10);
+        student = new User(100L, "student", "student@uni.edu", "password", Role.STUDENT);
+        course = new Course("Math", LocalDate.now().plusMonths(1), LocalDate.now().plusMonths(5),
+            LocalDate.now().minusWeeks(2), LocalDate.now().plusWeeks(2), null, true);
+        course.setId(10L);
+        entry = new WaitlistEntry(student, course, SEMESTER);
+        entry.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitlistService.shutdown();
+    }
+
+    // one queued student, the promotion starts as soon as the waitlists are loaded
+    private void loadQueue() {
+        List<Object[]> keys = new ArrayList<>();
+        keys.add(new Object[] {entry.getId(), student.getId(), course.getId(), SEMESTER});
+        when(mockWaitlistRepository.findAllQueueKeys()).thenReturn(keys);
+        waitlistService.loadWaitlists();
+    }
+
+    private static Object inTransaction(InvocationOnMock invocation) {
+        TransactionCallback<?> callback = invocation.getArgument(0);
+        return callback.doInTransaction(null);
+    }
+
+    @Test
+    public void join_AfterRegistrationEnded_Throws() {
+        course.setCourseEndRegistirationDate(LocalDate.now().minusDays(1));
+
+        assertThrows(RuntimeException.class, () -> waitlistService.join(student, course, SEMESTER));
+
+        verify(mockWaitlistRepository, never()).save(any());
+    }
+
+    @Test
+    public void promoteNext_DatabaseFailure_KeepsEntryAndRetries() {
+        when(mockTransactionTemplate.execute(any()))
+            .thenThrow(new CannotAcquireLockException("lock wait timeout"))
+            .thenAnswer(WaitlistServiceTest::inTransaction);
+        when(mockWaitlistRepository.findById(entry.getId())).thenReturn(Optional.of(entry));
+        when(mockEnrollmentService.enrollFromWaitlist(student, course, SEMESTER)).thenReturn(true);
+
+        loadQueue();
+
+        verify(mockWaitlistRepository, timeout(2000)).delete(entry);
+        verify(mockSeatAllocator).evict(course.getId());
+        verify(mockWaitlistRepository, never()).deleteById(entry.getId());
+    }
+
+    @Test
+    public void promoteNext_RuleViolation_RemovesEntry() {
+        when(mockTransactionTemplate.execute(any())).thenAnswer(WaitlistServiceTest::inTransaction);
+        when(mockWaitlistRepository.findById(entry.getId())).thenReturn(Optional.of(entry));
+        when(mockEnrollmentService.enrollFromWaitlist(student, course, SEMESTER))
+            .thenThrow(new RuntimeException("Can not Register two Courses at the same time."));
+
+        loadQueue();
+
+        verify(mockWaitlistRepository, timeout(2000)).deleteById(entry.getId());
+    }
+
+    @Test
+    public void join_NextSemester_WaitsSeparately() {
+        when(mockSeatAllocator.hasFreeSeat(course.getId())).thenReturn(false);
+        when(mockWaitlistRepository.save(any())).thenAnswer(invocation -> {
+            WaitlistEntry saved = invocation.getArgument(0);
+            saved.setId(SEMESTER.equals(saved.getSemester()) ? 1L : 2L);
+            return saved;
+        });
+
+        waitlistService.join(student, course, SEMESTER);
+        assertEquals(2, waitlistService.join(student, course, SEMESTER + 1).getPosition());
+        assertThrows(RuntimeException.class, () -> waitlistService.join(student, course, SEMESTER + 1));
+
+        // leaving one semester keeps the other place
+        waitlistService.leave(course.getId(), student.getId(), SEMESTER);
+        verify(mockWaitlistRepository).deleteById(1L);
+        assertNull(waitlistService.getPosition(course.getId(), student.getId(), SEMESTER).getPosition());
+        assertEquals(1, waitlistService.getPosition(course.getId(), student.getId(), SEMESTER + 1).getPosition());
+    }
+}
@@ -0,0 +1,77 @@
+package com.unisystem.university.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.unisystem.university.enrollment.EnrollmentChangedEvent;
+import com.unisystem.university.enrollment.EnrollmentChangedEvent.Snapshot;
+import com.unisystem.university.enrollment.Types.CourseStatus;
+import com.unisystem.university.enrollment.Types.Grade;
+
+public class EnrollmentJournalTest {
+    @TempDir
+    Path dir;
+
+    // segments of 10 records so the test rotates
+    private EnrollmentJournal openJournal() throws Exception {
+        EnrollmentJournal journal = new EnrollmentJournal(dir.toString(), JournalRecord.SIZE * 10, 10);
+        journal.open();
+        return journal;
+    }
+
+    private List<JournalRecord> readAll(EnrollmentJournal journal, int expected) throws InterruptedException {
+        List<JournalRecord> records = journal.read(null, null, null, null, 1000);
+        for (int i = 0; i < 200 && records.size() < expected; i++) {
+            Thread.sleep(10);
+            records = journal.read(null, null, null, null, 1000);
+        }
+        return records;
+    }
+
+    @Test
+    public void append_RotatesSegmentsAndReplaysInOrder() throws Exception {
+        EnrollmentJournal journal = openJournal();
+        for (long i = 1; i <= 25; i++) {
+            Snapshot enroll = new Snapshot(i, i % 3, 7L, 1, CourseStatus.InProgress, null);
+            journal.onEnrollmentChanged(new EnrollmentChangedEvent(null, enroll));
+        }
+
+        List<JournalRecord> records = readAll(journal, 25);
+        assertEquals(25, records.size());
+        assertEquals(1L, records.get(0).enrollmentId());
+        assertEquals(25L, records.get(24).enrollmentId());
+        assertEquals(8, journal.read(2L, null, null, null, 1000).size());
+        journal.close();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(3, files.count());
+        }
+    }
+
+    @Test
+    public void open_ContinuesAfterTheLastRecord() throws Exception {
+        EnrollmentJournal journal = openJournal();
+        Snapshot before = new Snapshot(1L, 2L, 3L, 1, CourseStatus.InProgress, null);
+        Snapshot after = new Snapshot(1L, 2L, 3L, 1, CourseStatus.Completed, Grade.B_PLUS);
+        journal.onEnrollmentChanged(new EnrollmentChangedEvent(null, before));
+        readAll(journal, 1);
+        journal.close();
+
+        journal = openJournal();
+        journal.onEnrollmentChanged(new EnrollmentChangedEvent(before, after));
+        List<JournalRecord> records = readAll(journal, 2);
+        journal.close();
+
+        assertEquals(2, records.size());
+        assertEquals(JournalEventType.UPDATED, records.get(1).type());
+        assertEquals(CourseStatus.InProgress, records.get(1).oldStatus());
+        assertEquals(Grade.B_PLUS, records.get(1).newGrade());
+    }
+}
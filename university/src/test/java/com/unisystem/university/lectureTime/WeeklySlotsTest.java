@@ -0,0 +1,59 @@
+package com.unisystem.university.lectureTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class WeeklySlotsTest {
+
+    private LectureTime lecture(Day day, int hour, int minute) {
+        return new LectureTime(null, day, LocalTime.of(hour, minute));
+    }
+
+    @Test
+    public void sameDayAndTime_Conflicts() {
+        // Arrange
+        WeeklySlots math = WeeklySlots.of(List.of(lecture(Day.Sunday, 9, 0), lecture(Day.Tuesday, 11, 0)));
+        WeeklySlots physics = WeeklySlots.of(List.of(lecture(Day.Tuesday, 11, 0)));
+
+        // Act
+        int slot = math.firstConflict(physics);
+
+        // Assert
+        assertTrue(math.intersects(physics));
+        assertEquals(Day.Tuesday, WeeklySlots.dayOf(slot));
+        assertEquals(LocalTime.of(11, 0), WeeklySlots.timeOf(slot));
+    }
+
+    @Test
+    public void differentDayOrSlot_NoConflict() {
+        // Arrange
+        WeeklySlots math = WeeklySlots.of(List.of(lecture(Day.Sunday, 9, 0)));
+        WeeklySlots physics = WeeklySlots.of(List.of(lecture(Day.Monday, 9, 0), lecture(Day.Sunday, 10, 0)));
+
+        // Act & Assert
+        assertFalse(math.intersects(physics));
+        assertEquals(-1, math.firstConflict(physics));
+    }
+
+    @Test
+    public void timetableIsUnionOfCourses() {
+        // Arrange
+        WeeklySlots math = WeeklySlots.of(List.of(lecture(Day.Sunday, 9, 0)));
+        WeeklySlots physics = WeeklySlots.of(List.of(lecture(Day.Friday, 23, 45)));
+        WeeklySlots newCourse = WeeklySlots.of(List.of(lecture(Day.Friday, 23, 30)));
+
+        // Act
+        WeeklySlots timetable = WeeklySlots.EMPTY.or(math).or(physics);
+
+        // Assert
+        assertTrue(WeeklySlots.EMPTY.isEmpty());
+        assertFalse(timetable.isEmpty());
+        assertTrue(timetable.intersects(newCourse));
+    }
+}